@@ -0,0 +1,144 @@
+package com.example.dataExtractionTool.controller;
+
+import com.example.dataExtractionTool.model.ExtractionJob;
+import com.example.dataExtractionTool.service.ExtractionJobService;
+import com.example.dataExtractionTool.service.PdfInput;
+import com.example.dataExtractionTool.service.PdfInputFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST Controller for asynchronous PDF extraction jobs
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/jobs")
+public class ExtractionJobController {
+
+    private final ExtractionJobService extractionJobService;
+    private final PdfInputFactory pdfInputFactory;
+    private final int retryAfterSeconds;
+
+    public ExtractionJobController(ExtractionJobService extractionJobService,
+            PdfInputFactory pdfInputFactory,
+            @Value("${pdf.jobs.retry-after-seconds:5}") int retryAfterSeconds) {
+        this.extractionJobService = extractionJobService;
+        this.pdfInputFactory = pdfInputFactory;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Accept a PDF for extraction and return the job id immediately
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> submitJob(@RequestParam("file") MultipartFile file) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (file.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Please upload a PDF file");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        if (!file.getOriginalFilename().toLowerCase().endsWith(".pdf")) {
+            response.put("success", false);
+            response.put("message", "Only PDF files are supported");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        PdfInput input = null;
+        try {
+            // The upload is only valid during the request, so take it over before queueing
+            input = pdfInputFactory.fromUpload(file);
+
+            ExtractionJob job = extractionJobService.submit(input);
+
+            response.put("success", true);
+            response.put("jobId", job.getId());
+            response.put("status", job.getStatus());
+            response.put("statusUrl", "/api/jobs/" + job.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+
+        } catch (RejectedExecutionException e) {
+            log.warn("Extraction queue full, rejecting {}", file.getOriginalFilename());
+            closeQuietly(input);
+            response.put("success", false);
+            response.put("message", "Extraction queue is full, retry later");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(response);
+
+        } catch (IOException e) {
+            log.error("Error spooling PDF: {}", e.getMessage(), e);
+            closeQuietly(input);
+            response.put("success", false);
+            response.put("message", "Error processing PDF: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Status of a job, with its result once completed
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable("id") String id) {
+        ExtractionJob job = extractionJobService.getJob(id);
+        if (job == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Unknown or expired job: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", job.getId());
+        response.put("fileName", job.getFileName());
+        response.put("status", job.getStatus());
+
+        if (job.getStartedAtMillis() > 0) {
+            response.put("queuedMillis", job.getStartedAtMillis() - job.getSubmittedAtMillis());
+        }
+        if (job.isFinished()) {
+            response.put("processingMillis", job.getFinishedAtMillis() - job.getStartedAtMillis());
+        }
+        if (job.getStatus() == ExtractionJob.Status.COMPLETED) {
+            response.put("result", job.getResult());
+        } else if (job.getStatus() == ExtractionJob.Status.FAILED) {
+            response.put("error", job.getErrorMessage());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Executor load, used to size the job pool and queue
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> jobStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("threads", extractionJobService.getThreads());
+        response.put("activeJobs", extractionJobService.getActiveJobs());
+        response.put("queueDepth", extractionJobService.getQueueDepth());
+        response.put("queueCapacity", extractionJobService.getQueueCapacity());
+        return ResponseEntity.ok(response);
+    }
+
+    private void closeQuietly(PdfInput input) {
+        if (input == null) {
+            return;
+        }
+        try {
+            input.close();
+        } catch (IOException e) {
+            log.warn("Could not clean up upload {}: {}", input.getName(), e.getMessage());
+        }
+    }
+}
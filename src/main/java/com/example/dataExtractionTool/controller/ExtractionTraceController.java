@@ -0,0 +1,64 @@
+package com.example.dataExtractionTool.controller;
+
+import com.example.dataExtractionTool.service.ExtractionTrace;
+import com.example.dataExtractionTool.service.ExtractionTraceRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for reading recent extraction traces
+ */
+@RestController
+@RequestMapping("/api/traces")
+@RequiredArgsConstructor
+public class ExtractionTraceController {
+
+    private final ExtractionTraceRecorder extractionTraceRecorder;
+
+    /**
+     * Summaries of the retained traces, newest first
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> listTraces() {
+        List<Map<String, Object>> traces = new ArrayList<>();
+        for (ExtractionTrace trace : extractionTraceRecorder.recent()) {
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("traceId", trace.getId());
+            summary.put("sourceName", trace.getSourceName());
+            summary.put("sampled", trace.isSampled());
+            summary.put("startedAt", trace.getStartedAt().toString());
+            summary.put("durationMillis", trace.getDurationMillis());
+            summary.put("outcome", trace.getOutcome());
+            summary.put("eventCount", trace.getEvents().size());
+            traces.add(summary);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("capacity", extractionTraceRecorder.getCapacity());
+        response.put("sampleRate", extractionTraceRecorder.getSampleRate());
+        response.put("published", extractionTraceRecorder.getPublished());
+        response.put("traces", traces);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * One trace with all of its events
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> getTrace(@PathVariable("id") String id) {
+        ExtractionTrace trace = extractionTraceRecorder.find(id);
+        if (trace == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Unknown or expired trace: " + id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        return ResponseEntity.ok(trace);
+    }
+}
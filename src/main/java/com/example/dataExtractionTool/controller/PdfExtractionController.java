@@ -1,21 +1,38 @@
 package com.example.dataExtractionTool.controller;
 
+import com.example.dataExtractionTool.dto.MudReportDTO;
+import com.example.dataExtractionTool.model.BatchFileResult;
 import com.example.dataExtractionTool.model.PdfExtractionResult;
+import com.example.dataExtractionTool.service.BatchExtractionService;
+import com.example.dataExtractionTool.service.ExportSegmentStore;
+import com.example.dataExtractionTool.service.ExportWriter;
+import com.example.dataExtractionTool.service.ExtractionOptions;
+import com.example.dataExtractionTool.service.ExtractionPlanCache;
+import com.example.dataExtractionTool.service.ExtractionResultCache;
+import com.example.dataExtractionTool.service.ExtractionTraceRecorder;
 import com.example.dataExtractionTool.service.FileExportService;
-import com.example.dataExtractionTool.service.MudReportMappingService;
 import com.example.dataExtractionTool.service.PdfExtractionService;
+import com.example.dataExtractionTool.service.PdfInput;
+import com.example.dataExtractionTool.service.PdfInputFactory;
+import com.example.dataExtractionTool.service.TableDetectionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,8 +45,18 @@ import java.util.Map;
 public class PdfExtractionController {
 
     private final PdfExtractionService pdfExtractionService;
+    private final PdfInputFactory pdfInputFactory;
     private final FileExportService fileExportService;
-    private final MudReportMappingService mudReportMappingService;
+    private final ExportWriter exportWriter;
+    private final ExportSegmentStore exportSegmentStore;
+    private final TableDetectionService tableDetectionService;
+    private final ExtractionPlanCache extractionPlanCache;
+    private final ExtractionResultCache extractionResultCache;
+    private final BatchExtractionService batchExtractionService;
+    private final ExtractionTraceRecorder extractionTraceRecorder;
+    private final ObjectMapper objectMapper;
+
+    private static final String TRACE_ID_HEADER = "X-Extraction-Trace-Id";
 
     /**
      * Health check endpoint
@@ -43,11 +70,113 @@ public class PdfExtractionController {
     }
 
     /**
-     * Extract data from PDF and save to TXT files
+     * Per-page Tabula table detection timings, used to size the detection pool
+     */
+    @GetMapping("/table-detection/stats")
+    public ResponseEntity<Map<String, Object>> tableDetectionStats() {
+        long pages = tableDetectionService.getPagesDetected();
+        long totalNanos = tableDetectionService.getTotalDetectionNanos();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("parallelEnabled", tableDetectionService.isParallelEnabled());
+        response.put("parallelThreads", tableDetectionService.getParallelThreads());
+        response.put("pagesDetected", pages);
+        response.put("totalDetectionMillis", totalNanos / 1_000_000);
+        response.put("averagePageMillis", pages > 0 ? (double) totalNanos / pages / 1_000_000 : 0.0);
+        response.put("maxPageMillis", tableDetectionService.getMaxDetectionNanos() / 1_000_000);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Hit/miss counts of the extraction plan cache
+     */
+    @GetMapping("/plan-cache/stats")
+    public ResponseEntity<Map<String, Object>> planCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("size", extractionPlanCache.size());
+        response.put("maxSize", extractionPlanCache.getMaxSize());
+        response.put("hits", extractionPlanCache.getHits());
+        response.put("misses", extractionPlanCache.getMisses());
+        response.put("invalidations", extractionPlanCache.getInvalidations());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Hit/miss/eviction counts of the content-hash result cache
+     */
+    @GetMapping("/result-cache/stats")
+    public ResponseEntity<Map<String, Object>> resultCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", extractionResultCache.isEnabled());
+        response.put("diskEnabled", extractionResultCache.isDiskEnabled());
+        response.put("size", extractionResultCache.size());
+        response.put("maxEntries", extractionResultCache.getMaxEntries());
+        response.put("hits", extractionResultCache.getHits());
+        response.put("diskHits", extractionResultCache.getDiskHits());
+        response.put("misses", extractionResultCache.getMisses());
+        response.put("evictions", extractionResultCache.getEvictions());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export writer queue depth and lag, used to size the queue and batches
+     */
+    @GetMapping("/export/stats")
+    public ResponseEntity<Map<String, Object>> exportStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("async", exportWriter.isAsync());
+        response.put("layout", exportWriter.getLayout());
+        response.put("fsyncPolicy", exportWriter.getFsyncPolicy());
+        response.put("queueDepth", exportWriter.getQueueDepth());
+        response.put("queueCapacity", exportWriter.getQueueCapacity());
+        response.put("oldestQueuedMillis", exportWriter.getOldestQueuedMillis());
+        response.put("lastLagMillis", exportWriter.getLastLagMillis());
+        response.put("reportsWritten", exportWriter.getReportsWritten());
+        response.put("reportsFailed", exportWriter.getReportsFailed());
+        response.put("inlineWrites", exportWriter.getInlineWrites());
+        response.put("batches", exportWriter.getBatches());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reports of one well read back from the export segments, found through
+     * the segment indexes
+     */
+    @GetMapping("/export/segments")
+    public ResponseEntity<Map<String, Object>> findSegmentRecords(
+            @RequestParam("apiWellNo") String apiWellNo,
+            @RequestParam(value = "reportDate", required = false) String reportDate) throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (ExportSegmentStore.SegmentRecord record : exportSegmentStore.find(apiWellNo, reportDate)) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("segment", record.getSegment());
+            entry.put("offset", record.getOffset());
+            entry.put("report", record.getReport());
+            entry.put("reportDate", record.getReportDate());
+            entry.put("record", exportSegmentStore.getFormat() == ExportSegmentStore.Format.NDJSON
+                    ? objectMapper.readTree(record.getContent())
+                    : record.getContent());
+            records.add(entry);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("apiWellNo", apiWellNo);
+        response.put("count", records.size());
+        response.put("records", records);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Extract data from PDF and save to TXT files. With ?trace=true the steps
+     * are recorded and the response carries the trace id for /api/traces. The
+     * raw text file is written with ?rawText=true or when the export profile
+     * enables it.
      */
     @PostMapping("/extract")
     public ResponseEntity<Map<String, Object>> extractPdf(
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "trace", defaultValue = "false") boolean trace,
+            @RequestParam(value = "rawText", defaultValue = "false") boolean rawText) {
 
         Map<String, Object> response = new HashMap<>();
 
@@ -68,15 +197,16 @@ public class PdfExtractionController {
             log.info("Received PDF file: {} ({} bytes)",
                     file.getOriginalFilename(), file.getSize());
 
-            // Save uploaded file temporarily
-            Path tempFile = Files.createTempFile("upload_", ".pdf");
-            Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
-
-            // Extract data
-            PdfExtractionResult result = pdfExtractionService.extractData(tempFile.toFile());
-
-            // Set the original filename instead of temp file name
-            result.setSourceFileName(file.getOriginalFilename());
+            // Extract data straight from the upload; the input is cleaned up on exit
+            ExtractionOptions options = extractionOptions(trace,
+                    rawText || fileExportService.isRawTextEnabled());
+            if (options.getTraceId() != null) {
+                response.put("traceId", options.getTraceId());
+            }
+            PdfExtractionResult result;
+            try (PdfInput input = pdfInputFactory.fromUpload(file)) {
+                result = pdfExtractionService.extractData(input, options);
+            }
 
             if (!result.isSuccess()) {
                 response.put("success", false);
@@ -89,14 +219,14 @@ public class PdfExtractionController {
                     .replace(".pdf", "")
                     .replaceAll("[^a-zA-Z0-9_-]", "_");
 
-            fileExportService.exportAll(result, baseFileName);
-
-            // Clean up temp file
-            Files.deleteIfExists(tempFile);
+            String report = fileExportService.exportAll(result, baseFileName);
 
-            // Prepare response
+            // Prepare response; queued files can still fail, see /api/export/stats and the log for the report
             response.put("success", true);
-            response.put("message", "Data extracted and exported successfully");
+            response.put("message", fileExportService.isExportAsync()
+                    ? "Data extracted and queued for export"
+                    : "Data extracted and exported successfully");
+            response.put("report", report);
             response.put("mudPropertiesCount", result.getMudProperties().size());
             response.put("remarkExtracted", result.getRemark() != null);
             response.put("lossCount", result.getLosses().size());
@@ -115,37 +245,39 @@ public class PdfExtractionController {
     }
 
     /**
-     * Extract data from PDF and return JSON response only (no file export)
+     * Extract data from PDF and return JSON response only (no file export).
+     * With ?trace=true the trace id is returned in the X-Extraction-Trace-Id
+     * header.
      */
     @PostMapping("/extract-json")
     public ResponseEntity<Object> extractPdfJson(
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "trace", defaultValue = "false") boolean trace) {
 
         try {
             if (file.isEmpty() || !file.getOriginalFilename().toLowerCase().endsWith(".pdf")) {
                 return ResponseEntity.badRequest().build();
             }
 
-            // Save uploaded file temporarily
-            Path tempFile = Files.createTempFile("upload_", ".pdf");
-            Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
-
-            // Extract data
-            PdfExtractionResult result = pdfExtractionService.extractData(tempFile.toFile());
-
-            // Set the original filename instead of temp file name
-            result.setSourceFileName(file.getOriginalFilename());
+            // Extract data straight from the upload; the input is cleaned up on exit
+            ExtractionOptions options = extractionOptions(trace, false);
+            PdfExtractionResult result;
+            try (PdfInput input = pdfInputFactory.fromUpload(file)) {
+                result = pdfExtractionService.extractData(input, options);
+            }
 
-            // Clean up
-            Files.deleteIfExists(tempFile);
+            ResponseEntity.BodyBuilder builder = result.isSuccess()
+                    ? ResponseEntity.ok()
+                    : ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR);
+            if (options.getTraceId() != null) {
+                builder.header(TRACE_ID_HEADER, options.getTraceId());
+            }
 
             if (result.isSuccess()) {
-                // Transform to unified format
-                java.util.List<java.util.Map<String, Object>> unifiedResponse = fileExportService
-                        .transformToUnifiedFormat(result);
-                return ResponseEntity.ok(unifiedResponse);
+                // Unified format, streamed into the response by Jackson
+                return builder.body(fileExportService.unifiedFormat(result));
             } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+                return builder.body(result);
             }
 
         } catch (IOException e) {
@@ -161,91 +293,43 @@ public class PdfExtractionController {
      * Extract data from PDF and return MudReportDTO JSON format
      * This endpoint returns data mapped to the MudReportDTO structure
      * Supports both single file and multiple files
+     * With ?stream=true or Accept: application/x-ndjson the records are streamed
+     * as newline-delimited JSON
+     * With ?allSamples=true every populated sample becomes a record, not only
+     * Sample 1
      */
     @PostMapping("/extract-mud-report")
     public ResponseEntity<Object> extractPdfMudReport(
             @RequestParam(value = "file", required = false) MultipartFile file,
-            @RequestParam(value = "files", required = false) MultipartFile[] files) {
-
-        try {
-            // Determine if single or multiple files
-            MultipartFile[] filesToProcess;
-
-            if (files != null && files.length > 0) {
-                // Multiple files provided
-                filesToProcess = files;
-            } else if (file != null && !file.isEmpty()) {
-                // Single file provided
-                filesToProcess = new MultipartFile[] { file };
-            } else {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Please upload at least one PDF file using 'file' or 'files' parameter.");
-                return ResponseEntity.badRequest().body(error);
-            }
-
-            log.info("Extracting {} PDF file(s) to MudReportDTO format", filesToProcess.length);
-
-            // Process all PDFs and collect all MudReportDTOs
-            java.util.List<com.example.dataExtractionTool.dto.MudReportDTO> allMudReportDTOs = new java.util.ArrayList<>();
-
-            for (MultipartFile pdfFile : filesToProcess) {
-                if (pdfFile.isEmpty()) {
-                    log.warn("Skipping empty file");
-                    continue;
-                }
-
-                if (!pdfFile.getOriginalFilename().toLowerCase().endsWith(".pdf")) {
-                    log.warn("Skipping non-PDF file: {}", pdfFile.getOriginalFilename());
-                    continue;
-                }
-
-                log.info("Processing PDF: {}", pdfFile.getOriginalFilename());
-
-                // Save uploaded file temporarily
-                Path tempFile = Files.createTempFile("upload_", ".pdf");
-                Files.copy(pdfFile.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
-
-                // Extract data
-                PdfExtractionResult result = pdfExtractionService.extractData(tempFile.toFile());
-
-                // Set the original filename instead of temp file name
-                result.setSourceFileName(pdfFile.getOriginalFilename());
-
-                // Clean up
-                Files.deleteIfExists(tempFile);
-
-                if (result.isSuccess()) {
-                    // Transform to MudReportDTO format and add to the list
-                    java.util.List<com.example.dataExtractionTool.dto.MudReportDTO> mudReportDTOs = mudReportMappingService
-                            .transformToMudReportDTOs(result);
-                    allMudReportDTOs.addAll(mudReportDTOs);
-                    log.info("Successfully extracted {} records from {}", mudReportDTOs.size(),
-                            pdfFile.getOriginalFilename());
-                } else {
-                    log.error("Extraction failed for {}: {}", pdfFile.getOriginalFilename(), result.getErrorMessage());
-                }
-            }
-
-            if (allMudReportDTOs.isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "No data could be extracted from the provided PDF file(s).");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
-            }
-
-            // Return response with mudDataList format
-            Map<String, Object> response = new HashMap<>();
-            response.put("mudDataList", allMudReportDTOs);
-            response.put("totalRecords", allMudReportDTOs.size());
-            response.put("filesProcessed", filesToProcess.length);
+            @RequestParam(value = "files", required = false) MultipartFile[] files,
+            @RequestParam(value = "stream", defaultValue = "false") boolean stream,
+            @RequestParam(value = "allSamples", defaultValue = "false") boolean allSamples,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+
+        // Determine if single or multiple files
+        MultipartFile[] filesToProcess;
+
+        if (files != null && files.length > 0) {
+            // Multiple files provided
+            filesToProcess = files;
+        } else if (file != null && !file.isEmpty()) {
+            // Single file provided
+            filesToProcess = new MultipartFile[] { file };
+        } else {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Please upload at least one PDF file using 'file' or 'files' parameter.");
+            return ResponseEntity.badRequest().body(error);
+        }
 
-            return ResponseEntity.ok(response);
+        log.info("Extracting {} PDF file(s) to MudReportDTO format", filesToProcess.length);
 
-        } catch (IOException e) {
-            log.error("Error processing PDF: {}", e.getMessage(), e);
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Error processing PDF: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        if (isNdjsonRequested(stream, accept)) {
+            streamMudReportNdjson(filesToProcess, allSamples, response);
+            return null;
         }
+        return mudReportBatchResponse(filesToProcess, allSamples,
+                "No data could be extracted from the provided PDF file(s).");
     }
 
     /**
@@ -253,80 +337,125 @@ public class PdfExtractionController {
      * format
      * This endpoint accepts multiple PDF files and returns all mud data in a single
      * mudDataList array
+     * With ?stream=true or Accept: application/x-ndjson the records are streamed
+     * as newline-delimited JSON
+     * With ?allSamples=true every populated sample becomes a record, not only
+     * Sample 1
      */
     @PostMapping("/extract-mud-report-batch")
     public ResponseEntity<Object> extractMultiplePdfsMudReport(
-            @RequestParam("files") MultipartFile[] files) {
+            @RequestParam("files") MultipartFile[] files,
+            @RequestParam(value = "stream", defaultValue = "false") boolean stream,
+            @RequestParam(value = "allSamples", defaultValue = "false") boolean allSamples,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
 
-        try {
-            if (files == null || files.length == 0) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "Please upload at least one PDF file.");
-                return ResponseEntity.badRequest().body(error);
-            }
-
-            log.info("Extracting {} PDF files to MudReportDTO format", files.length);
+        if (files == null || files.length == 0) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Please upload at least one PDF file.");
+            return ResponseEntity.badRequest().body(error);
+        }
 
-            // Process all PDFs and collect all MudReportDTOs
-            java.util.List<com.example.dataExtractionTool.dto.MudReportDTO> allMudReportDTOs = new java.util.ArrayList<>();
+        log.info("Extracting {} PDF files to MudReportDTO format", files.length);
 
-            for (MultipartFile file : files) {
-                if (file.isEmpty()) {
-                    log.warn("Skipping empty file");
-                    continue;
-                }
+        if (isNdjsonRequested(stream, accept)) {
+            streamMudReportNdjson(files, allSamples, response);
+            return null;
+        }
+        return mudReportBatchResponse(files, allSamples, "No data could be extracted from the provided PDF files.");
+    }
 
-                if (!file.getOriginalFilename().toLowerCase().endsWith(".pdf")) {
-                    log.warn("Skipping non-PDF file: {}", file.getOriginalFilename());
-                    continue;
-                }
+    /**
+     * Process the files concurrently and build the mudDataList response. Records
+     * keep the input file order; every file gets a status entry.
+     */
+    private ResponseEntity<Object> mudReportBatchResponse(MultipartFile[] files, boolean allSamples,
+            String noDataMessage) {
+        List<BatchFileResult> fileResults = batchExtractionService.extractMudReports(files, allSamples);
+
+        List<MudReportDTO> allMudReportDTOs = new ArrayList<>();
+        List<Map<String, Object>> fileStatuses = new ArrayList<>(fileResults.size());
+        for (BatchFileResult fileResult : fileResults) {
+            allMudReportDTOs.addAll(fileResult.getMudReportDTOs());
+            fileStatuses.add(fileResult.toStatusMap());
+        }
 
-                log.info("Processing PDF: {}", file.getOriginalFilename());
+        if (allMudReportDTOs.isEmpty()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", noDataMessage);
+            error.put("files", fileStatuses);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
 
-                // Save uploaded file temporarily
-                Path tempFile = Files.createTempFile("upload_", ".pdf");
-                Files.copy(file.getInputStream(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+        // Return response with mudDataList format
+        Map<String, Object> response = new HashMap<>();
+        response.put("mudDataList", allMudReportDTOs);
+        response.put("totalRecords", allMudReportDTOs.size());
+        response.put("filesProcessed", files.length);
+        response.put("files", fileStatuses);
 
-                // Extract data
-                PdfExtractionResult result = pdfExtractionService.extractData(tempFile.toFile());
+        return ResponseEntity.ok(response);
+    }
 
-                // Set the original filename instead of temp file name
-                result.setSourceFileName(file.getOriginalFilename());
+    /**
+     * Stream the records as newline-delimited JSON: each file's MudReportDTOs are
+     * written as soon as that file is done (completion order), followed by one
+     * trailer record with totalRecords, filesProcessed and the per-file status.
+     */
+    private void streamMudReportNdjson(MultipartFile[] files, boolean allSamples, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
 
-                // Clean up
-                Files.deleteIfExists(tempFile);
+        int[] totalRecords = new int[1];
+        List<Map<String, Object>> fileStatuses = new ArrayList<>(Collections.nCopies(files.length, null));
 
-                if (result.isSuccess()) {
-                    // Transform to MudReportDTO format and add to the list
-                    java.util.List<com.example.dataExtractionTool.dto.MudReportDTO> mudReportDTOs = mudReportMappingService
-                            .transformToMudReportDTOs(result);
-                    allMudReportDTOs.addAll(mudReportDTOs);
-                    log.info("Successfully extracted {} records from {}", mudReportDTOs.size(),
-                            file.getOriginalFilename());
-                } else {
-                    log.error("Extraction failed for {}: {}", file.getOriginalFilename(), result.getErrorMessage());
+        try {
+            batchExtractionService.extractMudReports(files, allSamples, (fileResult, fileIndex) -> {
+                try {
+                    for (MudReportDTO dto : fileResult.getMudReportDTOs()) {
+                        writeNdjsonLine(out, dto);
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            }
-
-            if (allMudReportDTOs.isEmpty()) {
-                Map<String, String> error = new HashMap<>();
-                error.put("error", "No data could be extracted from the provided PDF files.");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
-            }
+                totalRecords[0] += fileResult.getMudReportDTOs().size();
+                fileStatuses.set(fileIndex, fileResult.toStatusMap());
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away; the remaining files were cancelled
+            throw e.getCause();
+        }
 
-            // Create response with mudDataList
-            Map<String, Object> response = new HashMap<>();
-            response.put("mudDataList", allMudReportDTOs);
-            response.put("totalRecords", allMudReportDTOs.size());
-            response.put("filesProcessed", files.length);
+        Map<String, Object> trailer = new HashMap<>();
+        trailer.put("totalRecords", totalRecords[0]);
+        trailer.put("filesProcessed", files.length);
+        trailer.put("files", fileStatuses);
+        writeNdjsonLine(out, trailer);
+        out.flush();
+    }
 
-            return ResponseEntity.ok(response);
+    private void writeNdjsonLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
 
-        } catch (IOException e) {
-            log.error("Error processing PDFs: {}", e.getMessage(), e);
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Error processing PDFs: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    /**
+     * Options for one upload; a requested trace gets a fresh id
+     */
+    private ExtractionOptions extractionOptions(boolean trace, boolean rawText) {
+        if (!trace && !rawText) {
+            return ExtractionOptions.DEFAULTS;
         }
+        return ExtractionOptions.builder()
+                .traceId(trace ? extractionTraceRecorder.newTraceId() : null)
+                .rawText(rawText)
+                .build();
+    }
+
+    private static boolean isNdjsonRequested(boolean stream, String accept) {
+        return stream || (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE));
     }
 }
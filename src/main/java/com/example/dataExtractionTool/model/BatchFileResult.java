@@ -0,0 +1,48 @@
+package com.example.dataExtractionTool.model;
+
+import com.example.dataExtractionTool.dto.MudReportDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one file in a batch mud-report extraction
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchFileResult {
+
+    public enum Status {
+        SUCCESS, FAILED, TIMEOUT, SKIPPED
+    }
+
+    private String fileName;
+    private Status status;
+    @Builder.Default
+    private List<MudReportDTO> mudReportDTOs = new ArrayList<>();
+    private String errorMessage;
+    private long elapsedMillis;
+
+    /**
+     * Per-file status entry of the batch response (without the records)
+     */
+    public Map<String, Object> toStatusMap() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("fileName", fileName);
+        status.put("status", this.status);
+        status.put("records", mudReportDTOs.size());
+        status.put("elapsedMillis", elapsedMillis);
+        if (errorMessage != null) {
+            status.put("error", errorMessage);
+        }
+        return status;
+    }
+}
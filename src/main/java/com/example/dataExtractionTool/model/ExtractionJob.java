@@ -0,0 +1,41 @@
+package com.example.dataExtractionTool.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * State of one asynchronous extraction job.
+ *
+ * Written by the job worker thread and read by web threads, so every mutable
+ * field is volatile.
+ */
+@Getter
+@Setter
+public class ExtractionJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final long submittedAtMillis;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long startedAtMillis;
+    private volatile long finishedAtMillis;
+    private volatile Map<String, Object> result;
+    private volatile String errorMessage;
+
+    public ExtractionJob(String id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+        this.submittedAtMillis = System.currentTimeMillis();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
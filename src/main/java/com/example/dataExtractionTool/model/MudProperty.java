@@ -1,17 +1,20 @@
 package com.example.dataExtractionTool.model;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * Model class representing a single row from the MUD PROPERTIES table
  */
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class MudProperty {
 
     private String propertyName;
@@ -20,6 +23,55 @@ public class MudProperty {
     private String sample3;
     private String sample4;
 
+    // Samples parsed once, on first use; dropped whenever a sample changes
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private NumericValues numericSamples;
+
+    @Builder
+    public MudProperty(String propertyName, String sample1, String sample2, String sample3, String sample4) {
+        this.propertyName = propertyName;
+        this.sample1 = sample1;
+        this.sample2 = sample2;
+        this.sample3 = sample3;
+        this.sample4 = sample4;
+    }
+
+    /**
+     * Numbers of samples 1 to 4, at indexes 0 to 3
+     */
+    public NumericValues getNumericSamples() {
+        NumericValues numbers = numericSamples;
+        if (numbers == null) {
+            numbers = NumericValues.parse(sample1, sample2, sample3, sample4);
+            numericSamples = numbers;
+        }
+        return numbers;
+    }
+
+    public void setSample1(String sample1) {
+        this.sample1 = sample1;
+        this.numericSamples = null;
+    }
+
+    public void setSample2(String sample2) {
+        this.sample2 = sample2;
+        this.numericSamples = null;
+    }
+
+    public void setSample3(String sample3) {
+        this.sample3 = sample3;
+        this.numericSamples = null;
+    }
+
+    public void setSample4(String sample4) {
+        this.sample4 = sample4;
+        this.numericSamples = null;
+    }
+
     /**
      * Convert to tilde-separated string format for file export
      */
@@ -0,0 +1,83 @@
+package com.example.dataExtractionTool.model;
+
+import com.example.dataExtractionTool.util.TableParser;
+
+/**
+ * Numbers parsed once from a row of text values, kept as primitives.
+ *
+ * For every value a bit records whether it is present (not blank), whether
+ * it is a number as written, and whether it is a number once thousands
+ * separators are dropped. {@link #get} is NaN for a value that is neither.
+ */
+public final class NumericValues {
+
+    private final double[] values;
+    private final int presentMask;
+    private final int numberMask;
+    private final int lenientNumberMask;
+
+    private NumericValues(double[] values, int presentMask, int numberMask, int lenientNumberMask) {
+        this.values = values;
+        this.presentMask = presentMask;
+        this.numberMask = numberMask;
+        this.lenientNumberMask = lenientNumberMask;
+    }
+
+    /**
+     * Parse up to 32 text values; null and blank values are absent
+     */
+    public static NumericValues parse(String... texts) {
+        double[] values = new double[texts.length];
+        int present = 0;
+        int number = 0;
+        int lenientNumber = 0;
+        for (int i = 0; i < texts.length; i++) {
+            values[i] = Double.NaN;
+            String text = texts[i] != null ? texts[i].trim() : "";
+            if (text.isEmpty()) {
+                continue;
+            }
+            present |= 1 << i;
+
+            TableParser.ValueShape shape = TableParser.classify(text);
+            if (shape == TableParser.ValueShape.NUMBER || shape == TableParser.ValueShape.GROUPED_NUMBER) {
+                values[i] = TableParser.parseNumber(text);
+                lenientNumber |= 1 << i;
+                if (shape == TableParser.ValueShape.NUMBER) {
+                    number |= 1 << i;
+                }
+            }
+        }
+        return new NumericValues(values, present, number, lenientNumber);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isPresent(int index) {
+        return (presentMask & (1 << index)) != 0;
+    }
+
+    /**
+     * Whether the value parses as a double exactly as written
+     */
+    public boolean isNumber(int index) {
+        return (numberMask & (1 << index)) != 0;
+    }
+
+    /**
+     * Whether the value parses as a double once commas are removed, as in
+     * "1,250"
+     */
+    public boolean isLenientNumber(int index) {
+        return (lenientNumberMask & (1 << index)) != 0;
+    }
+
+    /**
+     * The parsed value, or NaN when the value is not a number
+     */
+    public double get(int index) {
+        return values[index];
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.dataExtractionTool.model;
 
-import lombok.AllArgsConstructor;
+import com.example.dataExtractionTool.util.CompressedText;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,9 +17,7 @@ import java.util.List;
  * Wrapper class containing the complete extraction result from a PDF
  */
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class PdfExtractionResult {
 
     private WellHeader wellHeader; // Well name, report metadata, and drilling data
@@ -26,7 +29,13 @@ public class PdfExtractionResult {
     private String extractionTimestamp;
     private boolean success;
     private String errorMessage;
-    private String rawText; // Added field for debugging
+
+    // Table text for debugging, only rendered on request and kept deflated
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private byte[] compressedRawText;
 
     /**
      * Initialize with empty lists
@@ -40,4 +49,34 @@ public class PdfExtractionResult {
         this.volumeTracks = new ArrayList<>();
         this.success = false;
     }
+
+    /**
+     * All fields, with the raw table text as plain text
+     */
+    @Builder
+    public PdfExtractionResult(WellHeader wellHeader, List<MudProperty> mudProperties, Remark remark,
+            List<Loss> losses, List<VolumeTrack> volumeTracks, String sourceFileName, String extractionTimestamp,
+            boolean success, String errorMessage, String rawText) {
+        this.wellHeader = wellHeader;
+        this.mudProperties = mudProperties;
+        this.remark = remark;
+        this.losses = losses;
+        this.volumeTracks = volumeTracks;
+        this.sourceFileName = sourceFileName;
+        this.extractionTimestamp = extractionTimestamp;
+        this.success = success;
+        this.errorMessage = errorMessage;
+        setRawText(rawText);
+    }
+
+    /**
+     * Raw table text, or null when the extraction did not render it
+     */
+    public String getRawText() {
+        return CompressedText.decompress(compressedRawText);
+    }
+
+    public void setRawText(String rawText) {
+        this.compressedRawText = CompressedText.compress(rawText);
+    }
 }
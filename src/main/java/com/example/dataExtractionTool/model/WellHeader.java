@@ -1,54 +1,120 @@
-package com.example.dataExtractionTool.model;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-/**
- * Model class for well header information extracted from PDF
- */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class WellHeader {
-
-    // Well identification
-    private String wellName;
-
-    // Report metadata
-    private String reportNo;
-    private String reportDate;
-    private String reportTime;
-    private String spudDate;
-
-    // Rig and Activity
-    private String rig;
-    private String activity;
-
-    // Drilling data
-    private String md; // Measured Depth (ft)
-    private String tvd; // True Vertical Depth (ft)
-    private String inc; // Inclination (deg)
-    private String azi; // Azimuth (deg)
-
-    // API Well Number
-    private String apiWellNo;
-
-    /**
-     * Convert to tilde-separated format for export
-     */
-    public String toTildeSeparated() {
-        return String.format("%s~%s~%s~%s~%s~%s~%s~%s~%s",
-                wellName != null ? wellName : "",
-                reportNo != null ? reportNo : "",
-                reportDate != null ? reportDate : "",
-                reportTime != null ? reportTime : "",
-                spudDate != null ? spudDate : "",
-                md != null ? md : "",
-                tvd != null ? tvd : "",
-                inc != null ? inc : "",
-                azi != null ? azi : "");
-    }
-}
+package com.example.dataExtractionTool.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Model class for well header information extracted from PDF
+ */
+@Data
+@NoArgsConstructor
+public class WellHeader {
+
+    // Indexes of the drilling data in getNumericDrillingData()
+    public static final int MD = 0;
+    public static final int TVD = 1;
+    public static final int INC = 2;
+    public static final int AZI = 3;
+
+    // Well identification
+    private String wellName;
+
+    // Report metadata
+    private String reportNo;
+    private String reportDate;
+    private String reportTime;
+    private String spudDate;
+
+    // Rig and Activity
+    private String rig;
+    private String activity;
+
+    // Drilling data
+    private String md; // Measured Depth (ft)
+    private String tvd; // True Vertical Depth (ft)
+    private String inc; // Inclination (deg)
+    private String azi; // Azimuth (deg)
+
+    // API Well Number
+    private String apiWellNo;
+
+    // Drilling data parsed once, on first use; dropped whenever it changes
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private NumericValues numericDrillingData;
+
+    @Builder
+    public WellHeader(String wellName, String reportNo, String reportDate, String reportTime, String spudDate,
+            String rig, String activity, String md, String tvd, String inc, String azi, String apiWellNo) {
+        this.wellName = wellName;
+        this.reportNo = reportNo;
+        this.reportDate = reportDate;
+        this.reportTime = reportTime;
+        this.spudDate = spudDate;
+        this.rig = rig;
+        this.activity = activity;
+        this.md = md;
+        this.tvd = tvd;
+        this.inc = inc;
+        this.azi = azi;
+        this.apiWellNo = apiWellNo;
+    }
+
+    /**
+     * Numbers of MD, TVD, Inc and AZI, at indexes {@link #MD} to {@link #AZI}
+     */
+    public NumericValues getNumericDrillingData() {
+        NumericValues numbers = numericDrillingData;
+        if (numbers == null) {
+            numbers = NumericValues.parse(md, tvd, inc, azi);
+            numericDrillingData = numbers;
+        }
+        return numbers;
+    }
+
+    public void setMd(String md) {
+        this.md = md;
+        this.numericDrillingData = null;
+    }
+
+    public void setTvd(String tvd) {
+        this.tvd = tvd;
+        this.numericDrillingData = null;
+    }
+
+    public void setInc(String inc) {
+        this.inc = inc;
+        this.numericDrillingData = null;
+    }
+
+    public void setAzi(String azi) {
+        this.azi = azi;
+        this.numericDrillingData = null;
+    }
+
+    /**
+     * Convert to tilde-separated format for export
+     */
+    public String toTildeSeparated() {
+        return String.format("%s~%s~%s~%s~%s~%s~%s~%s~%s",
+                wellName != null ? wellName : "",
+                reportNo != null ? reportNo : "",
+                reportDate != null ? reportDate : "",
+                reportTime != null ? reportTime : "",
+                spudDate != null ? spudDate : "",
+                md != null ? md : "",
+                tvd != null ? tvd : "",
+                inc != null ? inc : "",
+                azi != null ? azi : "");
+    }
+}
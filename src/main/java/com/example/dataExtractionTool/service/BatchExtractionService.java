@@ -0,0 +1,313 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.dto.MudReportDTO;
+import com.example.dataExtractionTool.model.BatchFileResult;
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Extracts the mud reports of a multi-file upload concurrently.
+ *
+ * At most {@code pdf.batch.parallelism} files are processed at once, each
+ * with its own time budget that starts when its extraction starts, so a
+ * queued file is never charged for the files ahead of it. Results are
+ * returned in input order, or handed out one by one as files complete.
+ */
+@Slf4j
+@Service
+public class BatchExtractionService {
+
+    private final PdfExtractionService pdfExtractionService;
+    private final MudReportMappingService mudReportMappingService;
+    private final PdfInputFactory pdfInputFactory;
+    private final ExtractionResultCache extractionResultCache;
+
+    private final int parallelism;
+    private final long fileTimeoutMillis;
+    private final ExecutorService executor;
+
+    public BatchExtractionService(PdfExtractionService pdfExtractionService,
+            MudReportMappingService mudReportMappingService,
+            PdfInputFactory pdfInputFactory,
+            ExtractionResultCache extractionResultCache,
+            @Value("${pdf.batch.parallelism:4}") int parallelism,
+            @Value("${pdf.batch.file-timeout-seconds:120}") long fileTimeoutSeconds) {
+        this.pdfExtractionService = pdfExtractionService;
+        this.mudReportMappingService = mudReportMappingService;
+        this.pdfInputFactory = pdfInputFactory;
+        this.extractionResultCache = extractionResultCache;
+        this.parallelism = Math.max(1, parallelism);
+        this.fileTimeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1, fileTimeoutSeconds));
+        this.executor = createExecutor(this.parallelism);
+    }
+
+    /**
+     * Extract every file of the upload; the result list matches the input order.
+     * With allSamples each file yields a record per populated sample rather
+     * than Sample 1 only.
+     */
+    public List<BatchFileResult> extractMudReports(MultipartFile[] files, boolean allSamples) {
+        BatchFileResult[] results = new BatchFileResult[files.length];
+        extractMudReports(files, allSamples, (result, fileIndex) -> results[fileIndex] = result);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Extract every file of the upload and hand each result to the listener as
+     * soon as that file is done, in completion order. The listener is always
+     * called on the calling thread; if it throws, the remaining files are
+     * cancelled and the exception is rethrown.
+     */
+    public void extractMudReports(MultipartFile[] files, boolean allSamples,
+            ObjIntConsumer<BatchFileResult> listener) {
+        BlockingQueue<FileTask> completed = new LinkedBlockingQueue<>();
+        List<FileTask> running = new ArrayList<>();
+        List<FileTask> skipped = new ArrayList<>();
+
+        for (int i = 0; i < files.length; i++) {
+            FileTask task = submit(files[i], i, allSamples, completed);
+            (task.result != null ? skipped : running).add(task);
+        }
+
+        try {
+            for (FileTask task : skipped) {
+                listener.accept(task.result, task.fileIndex);
+            }
+
+            while (!running.isEmpty()) {
+                FileTask done = completed.poll(nextWaitMillis(running), TimeUnit.MILLISECONDS);
+                if (done != null) {
+                    if (running.remove(done)) {
+                        listener.accept(resultOf(done), done.fileIndex);
+                    }
+                    continue;
+                }
+
+                // Nothing finished in time: expire the files that used up their budget
+                long now = System.currentTimeMillis();
+                for (Iterator<FileTask> it = running.iterator(); it.hasNext();) {
+                    FileTask task = it.next();
+                    long started = task.startMillis.get();
+                    if (started > 0 && now - started >= fileTimeoutMillis) {
+                        it.remove();
+                        listener.accept(timedOut(task), task.fileIndex);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(running);
+            for (FileTask task : running) {
+                listener.accept(failed(task.fileName, "Interrupted while waiting for extraction"), task.fileIndex);
+            }
+        } catch (RuntimeException e) {
+            cancelAll(running);
+            throw e;
+        }
+    }
+
+    private FileTask submit(MultipartFile file, int fileIndex, boolean allSamples,
+            BlockingQueue<FileTask> completed) {
+        String fileName = file.getOriginalFilename();
+
+        if (file.isEmpty()) {
+            log.warn("Skipping empty file");
+            return FileTask.done(fileIndex, skipped(fileName, "Empty file"));
+        }
+
+        if (fileName == null || !fileName.toLowerCase().endsWith(".pdf")) {
+            log.warn("Skipping non-PDF file: {}", fileName);
+            return FileTask.done(fileIndex, skipped(fileName, "Not a PDF file"));
+        }
+
+        FileTask task = new FileTask(fileName, fileIndex);
+        task.future = executor.submit(() -> {
+            task.startMillis.set(System.currentTimeMillis());
+            try {
+                return extract(file, allSamples);
+            } finally {
+                completed.offer(task);
+            }
+        });
+        return task;
+    }
+
+    private BatchFileResult extract(MultipartFile file, boolean allSamples) throws IOException {
+        String fileName = file.getOriginalFilename();
+        log.info("Processing PDF: {}", fileName);
+
+        // Extract data straight from the upload; the input is cleaned up on exit
+        try (PdfInput input = pdfInputFactory.fromUpload(file)) {
+            // The DTO cache holds Sample 1 records; all samples are mapped from the cached result
+            List<MudReportDTO> cachedDTOs = allSamples ? null : extractionResultCache.getMudReportDTOs(input);
+            if (cachedDTOs != null) {
+                log.info("Using cached records for {}", fileName);
+                return BatchFileResult.builder()
+                        .fileName(fileName)
+                        .status(BatchFileResult.Status.SUCCESS)
+                        .mudReportDTOs(cachedDTOs)
+                        .build();
+            }
+
+            PdfExtractionResult result = pdfExtractionService.extractData(input);
+
+            if (!result.isSuccess()) {
+                log.error("Extraction failed for {}: {}", fileName, result.getErrorMessage());
+                return BatchFileResult.builder()
+                        .fileName(fileName)
+                        .status(BatchFileResult.Status.FAILED)
+                        .errorMessage(result.getErrorMessage())
+                        .build();
+            }
+
+            // Transform to MudReportDTO format
+            List<MudReportDTO> mudReportDTOs = mudReportMappingService.transformToMudReportDTOs(result, allSamples);
+            if (!allSamples) {
+                extractionResultCache.putMudReportDTOs(input, mudReportDTOs);
+            }
+            log.info("Successfully extracted {} records from {}", mudReportDTOs.size(), fileName);
+            return BatchFileResult.builder()
+                    .fileName(fileName)
+                    .status(BatchFileResult.Status.SUCCESS)
+                    .mudReportDTOs(mudReportDTOs)
+                    .build();
+        }
+    }
+
+    /**
+     * How long to wait for the next completion: until the earliest budget of a
+     * started file runs out, or one full budget while every file is queued
+     */
+    private long nextWaitMillis(List<FileTask> running) {
+        long now = System.currentTimeMillis();
+        long wait = fileTimeoutMillis;
+        for (FileTask task : running) {
+            long started = task.startMillis.get();
+            if (started > 0) {
+                wait = Math.min(wait, started + fileTimeoutMillis - now);
+            }
+        }
+        return Math.max(1, wait);
+    }
+
+    /**
+     * Result of a task that signalled completion. The signal is sent just before
+     * the future completes, so the wait here is at most a few instructions.
+     */
+    private BatchFileResult resultOf(FileTask task) throws InterruptedException {
+        BatchFileResult result;
+        try {
+            result = task.future.get();
+        } catch (CancellationException e) {
+            result = failed(task.fileName, "Extraction cancelled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Error processing PDF {}: {}", task.fileName, cause.getMessage());
+            result = failed(task.fileName, "Error processing PDF: " + cause.getMessage());
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - task.startMillis.get());
+        return result;
+    }
+
+    private static void cancelAll(List<FileTask> tasks) {
+        for (FileTask task : tasks) {
+            task.future.cancel(true);
+        }
+    }
+
+    private BatchFileResult timedOut(FileTask task) {
+        // PDFBox does not check for interrupts, so the worker may run on until
+        // the current stage completes; its result is discarded
+        task.future.cancel(true);
+        log.error("Extraction of {} timed out after {} ms", task.fileName, fileTimeoutMillis);
+        return BatchFileResult.builder()
+                .fileName(task.fileName)
+                .status(BatchFileResult.Status.TIMEOUT)
+                .errorMessage("Extraction exceeded " + fileTimeoutMillis + " ms")
+                .elapsedMillis(System.currentTimeMillis() - task.startMillis.get())
+                .build();
+    }
+
+    private static BatchFileResult failed(String fileName, String message) {
+        return BatchFileResult.builder()
+                .fileName(fileName)
+                .status(BatchFileResult.Status.FAILED)
+                .errorMessage(message)
+                .build();
+    }
+
+    private static BatchFileResult skipped(String fileName, String message) {
+        return BatchFileResult.builder()
+                .fileName(fileName)
+                .status(BatchFileResult.Status.SKIPPED)
+                .errorMessage(message)
+                .build();
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getFileTimeoutMillis() {
+        return fileTimeoutMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService createExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "batch-extract-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One submitted file: either already resolved (skipped) or running
+     */
+    private static final class FileTask {
+
+        private final String fileName;
+        private final int fileIndex;
+        private final AtomicLong startMillis = new AtomicLong();
+        private Future<BatchFileResult> future;
+        private BatchFileResult result;
+
+        private FileTask(String fileName, int fileIndex) {
+            this.fileName = fileName;
+            this.fileIndex = fileIndex;
+        }
+
+        private static FileTask done(int fileIndex, BatchFileResult result) {
+            FileTask task = new FileTask(result.getFileName(), fileIndex);
+            task.result = result;
+            return task;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One file of a report export, rendered when the export writer gets to it
+ */
+@Getter
+@RequiredArgsConstructor
+final class ExportArtifact {
+
+    /** Metric tag of the artifact, e.g. "well_header" */
+    private final String name;
+    /** File name suffix after the report prefix, e.g. "well_header.txt" */
+    private final String fileName;
+    /** Tilde-separated text, as opposed to JSON; only text goes into tilde segments */
+    private final boolean text;
+    private final Body body;
+
+    @FunctionalInterface
+    interface Body {
+        /**
+         * Write the content; the stream must be left open
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
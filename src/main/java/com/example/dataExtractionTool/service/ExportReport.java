@@ -0,0 +1,25 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * One report handed to the export writer: its artifacts, and the keys it is
+ * indexed by when written to segments
+ */
+@Getter
+@RequiredArgsConstructor
+final class ExportReport {
+
+    private final Path directory;
+    /** Base file name and timestamp, e.g. "FILE_2561_3_20260117_101500" */
+    private final String prefix;
+    private final String apiWellNo;
+    private final String reportDate;
+    private final List<ExportArtifact> artifacts;
+    /** The whole report as one compact JSON object, for NDJSON segments */
+    private final ExportArtifact.Body record;
+}
@@ -0,0 +1,279 @@
+package com.example.dataExtractionTool.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only export segments: many reports per file instead of one file set
+ * per report.
+ *
+ * Each report is appended as one record, an NDJSON line or a tilde-separated
+ * block, to the current segment under {@code <output>/segments}. A segment is
+ * closed and a new one started once it reaches the size or age limit. Next
+ * to every segment a small tilde-separated index lists the API well number,
+ * report date, byte offset and length of each record, so a report is found by
+ * reading the indexes and seeking, never by scanning the segments.
+ */
+@Slf4j
+@Component
+public class ExportSegmentStore {
+
+    /**
+     * Record format of the segments
+     */
+    public enum Format {
+        NDJSON(".ndjson"),
+        TILDE(".txt");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    static final String SEGMENTS_DIRECTORY = "segments";
+    static final String INDEX_SUFFIX = ".idx";
+    private static final String INDEX_HEADER = "API well No.~Report Date~Offset~Length~Report";
+    private static final DateTimeFormatter SEGMENT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    @Getter
+    private final Path directory;
+    @Getter
+    private final Format format;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+
+    // Records are rendered here first, so their length is known before they are appended
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(16 * 1024);
+    private Segment current;
+    private int sequence;
+
+    public ExportSegmentStore(@Value("${pdf.export.output.directory:./output}") String outputDirectory,
+            @Value("${pdf.export.segments.format:ndjson}") String format,
+            @Value("${pdf.export.segments.max-megabytes:64}") long maxMegabytes,
+            @Value("${pdf.export.segments.max-age-minutes:60}") long maxAgeMinutes) {
+        this.directory = Paths.get(outputDirectory, SEGMENTS_DIRECTORY);
+        this.format = Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        this.maxBytes = Math.max(1, maxMegabytes) * 1024 * 1024;
+        this.maxAgeMillis = TimeUnit.MINUTES.toMillis(Math.max(1, maxAgeMinutes));
+    }
+
+    /**
+     * Append one report to the current segment, rotating first if it is full
+     * or too old. The record reaches the disk on the next {@link #flush}.
+     */
+    synchronized void append(ExportReport report) throws IOException {
+        recordBuffer.reset();
+        if (format == Format.NDJSON) {
+            report.getRecord().writeTo(recordBuffer);
+            recordBuffer.write('\n');
+        } else {
+            writeTildeRecord(report);
+        }
+
+        if (current == null || current.size >= maxBytes
+                || System.currentTimeMillis() - current.openedAtMillis >= maxAgeMillis) {
+            rotate();
+        }
+
+        long offset = current.size;
+        recordBuffer.writeTo(current.data);
+        current.size += recordBuffer.size();
+
+        current.index.write(indexKey(report.getApiWellNo()) + "~" + indexKey(report.getReportDate()) + "~"
+                + offset + "~" + recordBuffer.size() + "~" + report.getPrefix());
+        current.index.newLine();
+    }
+
+    /**
+     * Tilde segments hold the text artifacts of a report, each under a
+     * section line, after a line naming the report
+     */
+    private void writeTildeRecord(ExportReport report) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(recordBuffer, StandardCharsets.UTF_8));
+        writer.write("#REPORT~" + report.getPrefix());
+        writer.newLine();
+        for (ExportArtifact artifact : report.getArtifacts()) {
+            if (!artifact.isText()) {
+                continue;
+            }
+            writer.write("#SECTION~" + artifact.getName());
+            writer.newLine();
+            writer.flush();
+            artifact.getBody().writeTo(recordBuffer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Push appended records to the operating system, and to the disk when
+     * forced
+     */
+    synchronized void flush(boolean force) throws IOException {
+        if (current == null) {
+            return;
+        }
+        current.data.flush();
+        current.index.flush();
+        if (force) {
+            current.dataFile.getFD().sync();
+            current.indexFile.getFD().sync();
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.createDirectories(directory);
+
+        String timestamp = LocalDateTime.now().format(SEGMENT_TIMESTAMP);
+        Path dataPath;
+        do {
+            dataPath = directory.resolve(String.format("segment_%s_%04d%s", timestamp, ++sequence, format.extension));
+        } while (Files.exists(dataPath));
+
+        current = new Segment(dataPath);
+        current.index.write(INDEX_HEADER);
+        current.index.newLine();
+        log.info("Started export segment {}", dataPath.getFileName());
+    }
+
+    /**
+     * Close the current segment; the next append starts a new one
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.data.close();
+        } finally {
+            current.index.close();
+            current = null;
+        }
+    }
+
+    /**
+     * Records of the given well, optionally only of one report date, in
+     * segment order. Only the indexes are read in full.
+     */
+    public List<SegmentRecord> find(String apiWellNo, String reportDate) throws IOException {
+        flush(false);
+        List<SegmentRecord> records = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return records;
+        }
+
+        List<Path> indexes;
+        try (Stream<Path> files = Files.list(directory)) {
+            indexes = files.filter(file -> file.getFileName().toString().endsWith(INDEX_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        String wellKey = indexKey(apiWellNo);
+        String dateKey = reportDate != null ? indexKey(reportDate) : null;
+        for (Path index : indexes) {
+            String indexName = index.getFileName().toString();
+            Path segment = index.resolveSibling(indexName.substring(0, indexName.length() - INDEX_SUFFIX.length()));
+            try (BufferedReader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+                reader.readLine(); // header
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("~", 5);
+                    if (fields.length < 5 || !fields[0].equals(wellKey)
+                            || (dateKey != null && !fields[1].equals(dateKey))) {
+                        continue;
+                    }
+                    long offset = Long.parseLong(fields[2]);
+                    int length = Integer.parseInt(fields[3]);
+                    records.add(new SegmentRecord(segment.getFileName().toString(), offset, fields[4],
+                            fields[0], fields[1], read(segment, offset, length)));
+                }
+            }
+        }
+        return records;
+    }
+
+    private static String read(Path segment, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Index fields are single-line and tilde-free
+     */
+    private static String indexKey(String value) {
+        return value == null ? "" : value.trim().replace('~', ' ').replace('\r', ' ').replace('\n', ' ');
+    }
+
+    /**
+     * An open segment and its index
+     */
+    private static final class Segment {
+
+        private final FileOutputStream dataFile;
+        private final BufferedOutputStream data;
+        private final FileOutputStream indexFile;
+        private final BufferedWriter index;
+        private final long openedAtMillis = System.currentTimeMillis();
+        private long size;
+
+        Segment(Path dataPath) throws IOException {
+            this.dataFile = new FileOutputStream(dataPath.toFile(), true);
+            this.data = new BufferedOutputStream(dataFile, 64 * 1024);
+            this.indexFile = new FileOutputStream(dataPath + INDEX_SUFFIX, true);
+            this.index = new BufferedWriter(new OutputStreamWriter(indexFile, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * One report read back from a segment
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class SegmentRecord {
+
+        private final String segment;
+        private final long offset;
+        private final String report;
+        private final String apiWellNo;
+        private final String reportDate;
+        private final String content;
+    }
+}
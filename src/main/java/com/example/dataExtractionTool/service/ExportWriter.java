@@ -0,0 +1,354 @@
+package com.example.dataExtractionTool.service;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes report exports off the request thread.
+ *
+ * Requests hand over a finished report and return; a single writer thread
+ * drains the queue in batches, lingering briefly after the first report so
+ * bursts are written together, and syncs files to disk according to the
+ * fsync policy. When the queue is full the report is written on the caller's
+ * thread, so an export is never dropped. The layout decides what lands on
+ * disk: one file per artifact, one zip bundle per report, or one record per
+ * report appended to rolling segments.
+ */
+@Slf4j
+@Component
+public class ExportWriter {
+
+    /**
+     * How a report's artifacts are laid out on disk
+     */
+    public enum Layout {
+        /** One file per artifact */
+        FILES,
+        /** One zip file per report holding every artifact */
+        BUNDLE,
+        /** One record per report in rolling, indexed segments ({@link ExportSegmentStore}) */
+        SEGMENTS
+    }
+
+    /**
+     * When written files are forced to disk
+     */
+    public enum FsyncPolicy {
+        /** Leave flushing to the operating system */
+        NONE,
+        /** Force every file of a batch once the batch is written */
+        BATCH,
+        /** Force each file as soon as it is written */
+        FILE
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long POLL_MILLIS = 100;
+
+    private final ExtractionMetrics extractionMetrics;
+    private final ExportSegmentStore segmentStore;
+    private final boolean async;
+    @Getter
+    private final Layout layout;
+    @Getter
+    private final FsyncPolicy fsyncPolicy;
+    @Getter
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<ExportRequest> queue;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final LongAdder reportsWritten = new LongAdder();
+    private final LongAdder reportsFailed = new LongAdder();
+    private final LongAdder inlineWrites = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private volatile long lastLagNanos;
+
+    public ExportWriter(ExtractionMetrics extractionMetrics,
+            ExportSegmentStore segmentStore,
+            @Value("${pdf.export.async:true}") boolean async,
+            @Value("${pdf.export.queue-capacity:256}") int queueCapacity,
+            @Value("${pdf.export.batch-size:32}") int batchSize,
+            @Value("${pdf.export.linger-millis:20}") long lingerMillis,
+            @Value("${pdf.export.fsync:none}") String fsyncPolicy,
+            @Value("${pdf.export.layout:files}") String layout) {
+        this.extractionMetrics = extractionMetrics;
+        this.segmentStore = segmentStore;
+        this.async = async;
+        this.layout = Layout.valueOf(layout.trim().toUpperCase(Locale.ROOT));
+        this.fsyncPolicy = FsyncPolicy.valueOf(fsyncPolicy.trim().toUpperCase(Locale.ROOT));
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMillis));
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        extractionMetrics.gaugeExportQueue(queue);
+
+        if (async) {
+            writerThread = new Thread(this::runWriter, "export-writer-1");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } else {
+            writerThread = null;
+        }
+    }
+
+    /**
+     * Export one report: queue it, or write it now when the writer is
+     * synchronous or its queue is full. Files are named prefix_fileName.
+     *
+     * @throws IOException only when the report is written on this thread
+     */
+    void submit(ExportReport report) throws IOException {
+        ExportRequest request = new ExportRequest(report, System.nanoTime());
+        if (async && running) {
+            if (queue.offer(request)) {
+                return;
+            }
+            inlineWrites.increment();
+            log.warn("Export queue full ({} reports), writing {} on the request thread", queueCapacity,
+                    report.getPrefix());
+        }
+
+        // Inline writes and the writer thread may share the current segment
+        synchronized (this) {
+            List<Path> written = write(report);
+            finishBatch(written);
+        }
+        reportsWritten.increment();
+        recordLag(request);
+    }
+
+    private void runWriter() {
+        List<ExportRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ExportRequest first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                queue.drainTo(batch, batchSize - batch.size());
+                while (batch.size() < batchSize && running) {
+                    ExportRequest next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+                running = false;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<ExportRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Path> written = new ArrayList<>();
+        synchronized (this) {
+            for (ExportRequest request : batch) {
+                try {
+                    written.addAll(write(request.getReport()));
+                    reportsWritten.increment();
+                } catch (IOException | RuntimeException e) {
+                    reportsFailed.increment();
+                    log.error("Export of {} failed: {}", request.getReport().getPrefix(), e.getMessage(), e);
+                }
+            }
+            try {
+                finishBatch(written);
+            } catch (IOException e) {
+                log.error("Could not flush {} exported reports: {}", batch.size(), e.getMessage());
+            }
+        }
+        for (ExportRequest request : batch) {
+            recordLag(request);
+        }
+        batches.increment();
+        log.debug("Exported batch of {} reports ({} files)", batch.size(), written.size());
+    }
+
+    /**
+     * Sync the files of a batch, or flush the segment, as the policy asks
+     */
+    private void finishBatch(List<Path> written) throws IOException {
+        if (layout == Layout.SEGMENTS) {
+            segmentStore.flush(fsyncPolicy != FsyncPolicy.NONE);
+        } else if (fsyncPolicy == FsyncPolicy.BATCH) {
+            force(written);
+        }
+    }
+
+    /**
+     * Write every artifact of one report, as separate files, one bundle or one
+     * segment record
+     */
+    private List<Path> write(ExportReport report) throws IOException {
+        List<Path> written = new ArrayList<>();
+
+        if (layout == Layout.SEGMENTS) {
+            Timer.Sample sample = extractionMetrics.start();
+            try {
+                segmentStore.append(report);
+                if (fsyncPolicy == FsyncPolicy.FILE) {
+                    segmentStore.flush(true);
+                }
+            } finally {
+                extractionMetrics.stop(sample, ExtractionMetrics.EXPORT, "segment");
+            }
+            return written;
+        }
+
+        Files.createDirectories(report.getDirectory());
+        if (layout == Layout.BUNDLE) {
+            Path path = report.getDirectory().resolve(report.getPrefix() + "_export.zip");
+            try (FileOutputStream file = new FileOutputStream(path.toFile());
+                    ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(file, BUFFER_SIZE))) {
+                for (ExportArtifact artifact : report.getArtifacts()) {
+                    zip.putNextEntry(new ZipEntry(report.getPrefix() + "_" + artifact.getFileName()));
+                    render(artifact, zip);
+                    zip.closeEntry();
+                }
+                zip.finish();
+                zip.flush();
+                if (fsyncPolicy == FsyncPolicy.FILE) {
+                    file.getFD().sync();
+                }
+            }
+            written.add(path);
+            return written;
+        }
+
+        for (ExportArtifact artifact : report.getArtifacts()) {
+            Path path = report.getDirectory().resolve(report.getPrefix() + "_" + artifact.getFileName());
+            try (FileOutputStream file = new FileOutputStream(path.toFile());
+                    BufferedOutputStream out = new BufferedOutputStream(file, BUFFER_SIZE)) {
+                render(artifact, out);
+                out.flush();
+                if (fsyncPolicy == FsyncPolicy.FILE) {
+                    file.getFD().sync();
+                }
+            }
+            written.add(path);
+        }
+        return written;
+    }
+
+    private void render(ExportArtifact artifact, OutputStream out) throws IOException {
+        Timer.Sample sample = extractionMetrics.start();
+        try {
+            artifact.getBody().writeTo(out);
+        } finally {
+            extractionMetrics.stop(sample, ExtractionMetrics.EXPORT, artifact.getName());
+        }
+    }
+
+    private static void force(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private void recordLag(ExportRequest request) {
+        long lag = System.nanoTime() - request.getEnqueuedNanos();
+        lastLagNanos = lag;
+        extractionMetrics.recordExportLag(lag);
+    }
+
+    /**
+     * Whether reports are written by the writer thread, after submit returns
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * How long the oldest queued report has been waiting, 0 when the queue is empty
+     */
+    public long getOldestQueuedMillis() {
+        ExportRequest oldest = queue.peek();
+        return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.getEnqueuedNanos());
+    }
+
+    /**
+     * Time from hand-over to written for the most recent report
+     */
+    public long getLastLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLagNanos);
+    }
+
+    public long getReportsWritten() {
+        return reportsWritten.sum();
+    }
+
+    public long getReportsFailed() {
+        return reportsFailed.sum();
+    }
+
+    public long getInlineWrites() {
+        return inlineWrites.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Stop taking reports and write out those still queued
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+            if (!queue.isEmpty()) {
+                log.warn("{} queued exports were not written before shutdown", queue.size());
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class ExportRequest {
+
+        private final ExportReport report;
+        private final long enqueuedNanos;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.model.ExtractionJob;
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs PDF extractions as background jobs on a bounded executor.
+ *
+ * The queue has a fixed capacity: when it is full, {@link #submit} throws
+ * {@link RejectedExecutionException} instead of letting waiting time grow, and
+ * the caller is expected to retry later. Finished jobs are kept for the
+ * configured retention time so their result can be fetched.
+ */
+@Slf4j
+@Service
+public class ExtractionJobService {
+
+    private final PdfExtractionService pdfExtractionService;
+    private final FileExportService fileExportService;
+
+    private final int threads;
+    private final int queueCapacity;
+    private final long retentionMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExtractionJob> jobs = new ConcurrentHashMap<>();
+
+    public ExtractionJobService(PdfExtractionService pdfExtractionService,
+            FileExportService fileExportService,
+            @Value("${pdf.jobs.threads:2}") int threads,
+            @Value("${pdf.jobs.queue-capacity:50}") int queueCapacity,
+            @Value("${pdf.jobs.retention-minutes:30}") long retentionMinutes) {
+        this.pdfExtractionService = pdfExtractionService;
+        this.fileExportService = fileExportService;
+        this.threads = Math.max(1, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+        this.executor = createExecutor(this.threads, this.queueCapacity);
+    }
+
+    /**
+     * Queue the extraction of an uploaded PDF. The job owns the input and
+     * closes it when done; on rejection the caller keeps ownership.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public ExtractionJob submit(PdfInput input) {
+        purgeExpiredJobs();
+
+        ExtractionJob job = new ExtractionJob(UUID.randomUUID().toString(), input.getName());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, input));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+
+        log.info("Queued extraction job {} for {} (queue depth {})", job.getId(), input.getName(),
+                executor.getQueue().size());
+        return job;
+    }
+
+    /**
+     * Job by id, or null if unknown or expired
+     */
+    public ExtractionJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    private void run(ExtractionJob job, PdfInput input) {
+        job.setStartedAtMillis(System.currentTimeMillis());
+        job.setStatus(ExtractionJob.Status.RUNNING);
+
+        try {
+            PdfExtractionResult result = pdfExtractionService.extractData(input);
+
+            if (!result.isSuccess()) {
+                fail(job, "Extraction failed: " + result.getErrorMessage());
+                return;
+            }
+
+            // Export to TXT files
+            String baseFileName = job.getFileName()
+                    .replace(".pdf", "")
+                    .replaceAll("[^a-zA-Z0-9_-]", "_");
+            String report = fileExportService.exportAll(result, baseFileName);
+
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("report", report);
+            summary.put("mudPropertiesCount", result.getMudProperties().size());
+            summary.put("remarkExtracted", result.getRemark() != null);
+            summary.put("lossCount", result.getLosses().size());
+            summary.put("volumeTrackCount", result.getVolumeTracks().size());
+            summary.put("outputDirectory", fileExportService.getOutputDirectory());
+            summary.put("extractionTimestamp", result.getExtractionTimestamp());
+            summary.put("data", fileExportService.transformToUnifiedFormat(result));
+
+            job.setResult(summary);
+            job.setFinishedAtMillis(System.currentTimeMillis());
+            job.setStatus(ExtractionJob.Status.COMPLETED);
+            log.info("Extraction job {} completed in {} ms", job.getId(),
+                    job.getFinishedAtMillis() - job.getStartedAtMillis());
+
+        } catch (IOException | RuntimeException e) {
+            log.error("Extraction job {} failed: {}", job.getId(), e.getMessage());
+            fail(job, "Error processing PDF: " + e.getMessage());
+        } finally {
+            try {
+                input.close();
+            } catch (IOException e) {
+                log.warn("Could not clean up upload {}: {}", input.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void fail(ExtractionJob job, String message) {
+        job.setErrorMessage(message);
+        job.setFinishedAtMillis(System.currentTimeMillis());
+        job.setStatus(ExtractionJob.Status.FAILED);
+    }
+
+    private void purgeExpiredJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAtMillis() < cutoff);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveJobs() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadPoolExecutor createExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "extraction-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.dataExtractionTool.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for the phases of one extraction, scraped through the
+ * Actuator Prometheus endpoint.
+ *
+ * Every phase is a timer named {@code pdf.extraction.phase} tagged with the
+ * phase name (and the section or artifact where a phase has several parts),
+ * so one query shows where time goes across the whole pipeline.
+ *
+ * Fallback meters are also tagged with the report template, the id of the
+ * header label layout of the extraction plan, which is the same for every
+ * report of a vendor template. The number of tagged templates is capped only
+ * as a backstop against a flood of unknown layouts: past the limit reports
+ * are tagged {@code other} and a warning is logged once.
+ */
+@Slf4j
+@Component
+public class ExtractionMetrics {
+
+    public static final String PHASE_TIMER = "pdf.extraction.phase";
+    public static final String FALLBACK_TIMER = "pdf.extraction.fallback";
+    public static final String PROBE_COUNTER = "pdf.extraction.fallback.probes";
+    public static final String EXPORT_QUEUE_GAUGE = "pdf.export.queue.depth";
+    public static final String EXPORT_LAG_TIMER = "pdf.export.lag";
+
+    // -- Phase names --
+    public static final String UPLOAD_SPOOL = "upload_spool";
+    public static final String DOCUMENT_LOAD = "document_load";
+    public static final String TABULA_PAGE = "tabula_page";
+    public static final String SECTION = "section";
+    public static final String REMARKS_TEXT = "remarks_text";
+    public static final String MAPPING = "mapping";
+    public static final String EXPORT = "export";
+
+    // -- Fallback paths --
+    public static final String WELL_NAME_ALL_TABLES = "well_name_all_tables";
+    public static final String WELL_NAME_RAW_TEXT = "well_name_raw_text";
+    public static final String REMARKS_TEXT_VS_TABLE = "remarks_text_vs_table";
+    public static final String SMART_CELL_NEIGHBOUR = "smart_cell_neighbour";
+
+    /** Template tag when the report has no main table, hence no plan */
+    public static final String NO_TEMPLATE = "none";
+
+    /** Template tag once the limit of tagged templates is reached */
+    public static final String OTHER_TEMPLATE = "other";
+
+    private final MeterRegistry registry;
+    private final int maxTemplates;
+    private final Set<String> templates = ConcurrentHashMap.newKeySet();
+    private boolean templateLimitLogged;
+
+    private final Timer documentLoadTimer;
+    private final Timer tabulaPageTimer;
+    private final DistributionSummary pageCount;
+    private final DistributionSummary tableCount;
+    private final DistributionSummary mainTableRows;
+    private final Timer exportLagTimer;
+
+    public ExtractionMetrics(MeterRegistry registry,
+            @Value("${pdf.metrics.fallback.max-templates:64}") int maxTemplates) {
+        this.registry = registry;
+        this.maxTemplates = Math.max(0, maxTemplates);
+        this.documentLoadTimer = phaseTimer(DOCUMENT_LOAD, "all");
+        this.tabulaPageTimer = phaseTimer(TABULA_PAGE, "all");
+        this.pageCount = DistributionSummary.builder("pdf.extraction.document.pages")
+                .description("Pages per extracted PDF")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.tableCount = DistributionSummary.builder("pdf.extraction.document.tables")
+                .description("Tabula tables detected per PDF")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.mainTableRows = DistributionSummary.builder("pdf.extraction.main_table.rows")
+                .description("Rows of the main report table")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.exportLagTimer = Timer.builder(EXPORT_LAG_TIMER)
+                .description("Time from handing a report to the export writer until its files are written")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Start timing a phase; pass the sample to {@link #stop}
+     */
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Stop a phase sample. The part distinguishes sections or export artifacts
+     * within one phase ("all" when the phase has a single part).
+     */
+    public long stop(Timer.Sample sample, String phase, String part) {
+        return sample.stop(phaseTimer(phase, part));
+    }
+
+    public void stopDocumentLoad(Timer.Sample sample) {
+        sample.stop(documentLoadTimer);
+    }
+
+    public void recordTabulaPage(long nanos) {
+        tabulaPageTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDocument(int pages, int tables) {
+        pageCount.record(pages);
+        tableCount.record(tables);
+    }
+
+    public void recordMainTableRows(int rows) {
+        mainTableRows.record(rows);
+    }
+
+    /**
+     * Report the export writer's queue depth
+     */
+    public void gaugeExportQueue(Collection<?> queue) {
+        Gauge.builder(EXPORT_QUEUE_GAUGE, queue, Collection::size)
+                .description("Reports waiting for the export writer")
+                .register(registry);
+    }
+
+    public void recordExportLag(long nanos) {
+        exportLagTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record one run of an expensive fallback path. The timer count is the
+     * number of times the fallback fired; the outcome tells whether it found
+     * anything, so templates that pay for fruitless fallbacks stand out.
+     */
+    public void recordFallback(Timer.Sample sample, String path, String template, String outcome) {
+        sample.stop(fallbackTimer(path, template, outcome));
+    }
+
+    public void recordFallback(String path, String template, String outcome, long nanos) {
+        fallbackTimer(path, template, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a cheap per-cell fallback, such as probing a neighbouring column
+     */
+    public void countProbe(String path, String template, String outcome) {
+        Counter.builder(PROBE_COUNTER)
+                .description("Per-cell fallback probes")
+                .tag("path", path)
+                .tag("template", templateTag(template))
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    private Timer fallbackTimer(String path, String template, String outcome) {
+        return Timer.builder(FALLBACK_TIMER)
+                .description("Time spent in heuristic fallback paths")
+                .tag("path", path)
+                .tag("template", templateTag(template))
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * The template itself while fewer than the limit of templates are tagged,
+     * otherwise {@link #OTHER_TEMPLATE}
+     */
+    private String templateTag(String template) {
+        if (NO_TEMPLATE.equals(template) || templates.contains(template)) {
+            return template;
+        }
+        synchronized (templates) {
+            if (templates.contains(template)) {
+                return template;
+            }
+            if (templates.size() < maxTemplates) {
+                templates.add(template);
+                return template;
+            }
+            if (!templateLimitLogged) {
+                templateLimitLogged = true;
+                log.warn("More than {} report templates seen, tagging fallbacks of new templates '{}'",
+                        maxTemplates, OTHER_TEMPLATE);
+            }
+        }
+        return OTHER_TEMPLATE;
+    }
+
+    private Timer phaseTimer(String phase, String part) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Time spent in one extraction phase")
+                .tag("phase", phase)
+                .tag("part", part)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
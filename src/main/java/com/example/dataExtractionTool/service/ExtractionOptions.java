@@ -0,0 +1,20 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Per-request switches for an extraction
+ */
+@Getter
+@Builder
+public class ExtractionOptions {
+
+    public static final ExtractionOptions DEFAULTS = ExtractionOptions.builder().build();
+
+    /** Id to record the extraction trace under; null unless the request asked for a trace */
+    private final String traceId;
+
+    /** Render the raw text of every table onto the result, for debugging or the raw text export */
+    private final boolean rawText;
+}
@@ -0,0 +1,266 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.util.TableIndex;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolved layout of one report template: the anchor and column of each table
+ * section, and for every well header label the cell it sits in and the cell
+ * its value was read from.
+ *
+ * Plans are keyed by a cheap layout fingerprint of the main table, so later
+ * reports from the same vendor template can skip the discovery loops. A plan
+ * is only a hint: it must be validated against the table before use.
+ */
+public final class ExtractionPlan {
+
+    /** Rows at the top of the table that may hold well header labels */
+    public static final int HEADER_ROWS = 25;
+
+    /** Marks a column that was not resolved and must be discovered per report */
+    public static final int UNRESOLVED = -1;
+
+    /**
+     * Sections of the main table
+     */
+    public enum Section {
+        MUD_PROPERTIES,
+        REMARKS,
+        LOSS,
+        VOL_TRACK
+    }
+
+    /**
+     * Well header fields read from a label and the cell next to it
+     */
+    public enum HeaderField {
+        WELL_NAME,
+        REPORT_NO,
+        REPORT_DATE,
+        REPORT_TIME,
+        SPUD_DATE,
+        RIG,
+        ACTIVITY,
+        MD,
+        TVD,
+        INC,
+        AZI,
+        API_WELL_NO
+    }
+
+    private final long fingerprint;
+    private final Map<Section, SectionAnchor> sections;
+    private final List<HeaderCell> headerCells;
+    private final String templateId;
+
+    public ExtractionPlan(long fingerprint, Map<Section, SectionAnchor> sections, List<HeaderCell> headerCells) {
+        this.fingerprint = fingerprint;
+        this.sections = new EnumMap<>(sections);
+        this.headerCells = List.copyOf(headerCells);
+        this.templateId = Long.toHexString(labelLayoutHash(this.headerCells));
+    }
+
+    /**
+     * Layout fingerprint of a table: where the section anchors are, and the
+     * grid shape and filled/empty pattern of the header rows above them.
+     * Sections grow and shrink from report to report, so neither the row count
+     * nor the rows below the header go into it. Reading it costs one pass over
+     * the header cells and no text comparison beyond the anchor rows.
+     */
+    public static long fingerprint(TableIndex index, List<String> anchors) {
+        long hash = 0xcbf29ce484222325L;
+
+        // Anchors: present or not, the column holding the text, and their order
+        Map<String, TableIndex.SectionRange> sections = index.getSections();
+        int headerRows = Math.min(HEADER_ROWS, index.getRowCount());
+        for (String anchor : anchors) {
+            TableIndex.SectionRange section = sections.get(anchor);
+            if (section == null) {
+                hash = mix(hash, -1);
+                continue;
+            }
+            int row = section.getStartRow();
+            int rank = 0;
+            for (TableIndex.SectionRange other : sections.values()) {
+                if (other.getStartRow() < row) {
+                    rank++;
+                }
+            }
+            hash = mix(hash, rank);
+            hash = mix(hash, anchorColumn(index, row, anchor));
+            headerRows = Math.min(headerRows, row);
+        }
+
+        // The header block: column count and filled cells of every row
+        hash = mix(hash, headerRows);
+        for (int row = 0; row < headerRows; row++) {
+            hash = mix(hash, index.getColumnCount(row));
+            long filled = 0L;
+            for (int col = 0; col < Math.min(64, index.getColumnCount(row)); col++) {
+                if (!index.getCell(row, col).isEmpty()) {
+                    filled |= 1L << col;
+                }
+            }
+            hash = mix(hash, filled);
+        }
+        return hash;
+    }
+
+    private static int anchorColumn(TableIndex index, int row, String anchor) {
+        for (int col = 0; col < index.getColumnCount(row); col++) {
+            if (index.getCell(row, col).contains(anchor)) {
+                return col;
+            }
+        }
+        return UNRESOLVED;
+    }
+
+    /**
+     * Hash of the well header labels: the fields, in table order, and where
+     * each sits relative to the first. Value cells, optional sections and
+     * leading empty rows or columns are left out, so all reports of a vendor
+     * template share it while their fingerprints differ.
+     */
+    private static long labelLayoutHash(List<HeaderCell> headerCells) {
+        long hash = 0xcbf29ce484222325L;
+        if (headerCells.isEmpty()) {
+            return hash;
+        }
+        HeaderCell first = headerCells.get(0);
+        for (HeaderCell cell : headerCells) {
+            hash = mix(hash, cell.getField().ordinal());
+            hash = mix(hash, cell.getLabelRow() - first.getLabelRow());
+            hash = mix(hash, cell.getLabelColumn() - first.getLabelColumn());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        // FNV-1a over the 8 bytes of the value
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Short, stable identifier of the template for logs and metrics, taken
+     * from the header label layout rather than the fingerprint
+     */
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Anchor of a section, or null if the template does not have it
+     */
+    public SectionAnchor getSection(Section section) {
+        return sections.get(section);
+    }
+
+    /**
+     * Start row of a section in the given table, or -1. Anchors are resolved
+     * when the table is indexed, so this is a lookup, not a scan.
+     */
+    public int getSectionRow(Section section, TableIndex index) {
+        SectionAnchor anchor = sections.get(section);
+        if (anchor == null) {
+            return -1;
+        }
+        int row = index.findRowWithText(anchor.getAnchor());
+        return row != -1 ? row + anchor.getRowOffset() : -1;
+    }
+
+    /**
+     * Column a section is read from, or {@link #UNRESOLVED}
+     */
+    public int getSectionColumn(Section section) {
+        SectionAnchor anchor = sections.get(section);
+        return anchor != null ? anchor.getColumn() : UNRESOLVED;
+    }
+
+    /**
+     * Header label cells in table order
+     */
+    public List<HeaderCell> getHeaderCells() {
+        return headerCells;
+    }
+
+    /**
+     * Where a section starts: the row holding the anchor text, plus an offset,
+     * and the column the section is read from
+     */
+    public static final class SectionAnchor {
+
+        private final String anchor;
+        private final int rowOffset;
+        private final int column;
+
+        public SectionAnchor(String anchor, int rowOffset, int column) {
+            this.anchor = anchor;
+            this.rowOffset = rowOffset;
+            this.column = column;
+        }
+
+        public String getAnchor() {
+            return anchor;
+        }
+
+        public int getRowOffset() {
+            return rowOffset;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+    }
+
+    /**
+     * A well header label cell and the cell its value was read from, which is
+     * {@link #UNRESOLVED} when the value was blank
+     */
+    public static final class HeaderCell {
+
+        private final HeaderField field;
+        private final int labelRow;
+        private final int labelColumn;
+        private final int valueRow;
+        private final int valueColumn;
+
+        public HeaderCell(HeaderField field, int labelRow, int labelColumn, int valueRow, int valueColumn) {
+            this.field = field;
+            this.labelRow = labelRow;
+            this.labelColumn = labelColumn;
+            this.valueRow = valueRow;
+            this.valueColumn = valueColumn;
+        }
+
+        public HeaderField getField() {
+            return field;
+        }
+
+        public int getLabelRow() {
+            return labelRow;
+        }
+
+        public int getLabelColumn() {
+            return labelColumn;
+        }
+
+        public int getValueRow() {
+            return valueRow;
+        }
+
+        public int getValueColumn() {
+            return valueColumn;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of resolved extraction plans keyed by layout fingerprint.
+ *
+ * Reports arrive from a small number of vendor templates, so a handful of
+ * plans covers almost all traffic. A size of 0 disables the cache.
+ */
+@Slf4j
+@Component
+public class ExtractionPlanCache {
+
+    private final int maxSize;
+    private final Map<Long, ExtractionPlan> plans;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ExtractionPlanCache(@Value("${pdf.extraction.plan-cache.size:64}") int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ExtractionPlan> eldest) {
+                return size() > ExtractionPlanCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Cached plan for a fingerprint, or null
+     */
+    public synchronized ExtractionPlan get(long fingerprint) {
+        ExtractionPlan plan = plans.get(fingerprint);
+        if (plan != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return plan;
+    }
+
+    public synchronized void put(ExtractionPlan plan) {
+        if (maxSize > 0) {
+            plans.put(plan.getFingerprint(), plan);
+        }
+    }
+
+    /**
+     * Drop a plan that no longer matches its table
+     */
+    public synchronized void invalidate(long fingerprint) {
+        if (plans.remove(fingerprint) != null) {
+            invalidations.incrementAndGet();
+            log.info("Dropped extraction plan for template {}", Long.toHexString(fingerprint));
+        }
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.dto.MudReportDTO;
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of extraction results keyed by the SHA-256 of the PDF bytes, so a
+ * resubmitted report skips the Tabula and text pipeline.
+ *
+ * Entries are stored serialized: the memory tier is an LRU of JSON byte
+ * arrays and the optional disk tier holds the same bytes as files, so cached
+ * results survive restarts. Every lookup deserializes a fresh copy, which
+ * callers are free to modify. The source file name of a hit is replaced by
+ * the name of the current upload.
+ *
+ * Disk entries live in a directory per {@link #FORMAT_VERSION}, so files
+ * written by a build with different extraction or mapping output are ignored.
+ * MudReportDTO files are also named by the zone fingerprint of
+ * {@link ReportDateTimes}, as their report dates depend on the zone rules.
+ */
+@Slf4j
+@Component
+public class ExtractionResultCache {
+
+    /**
+     * Version of the cached results; bump whenever extraction or mapping
+     * output changes
+     */
+    static final int FORMAT_VERSION = 1;
+
+    private static final TypeReference<List<MudReportDTO>> DTO_LIST = new TypeReference<>() {
+    };
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Path diskDirectory;
+    private final String dtoFileSuffix;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ExtractionResultCache(
+            @Value("${pdf.result-cache.enabled:true}") boolean enabled,
+            @Value("${pdf.result-cache.max-entries:256}") int maxEntries,
+            @Value("${pdf.result-cache.disk.enabled:false}") boolean diskEnabled,
+            @Value("${pdf.result-cache.disk.directory:./cache/results}") String diskDirectory,
+            ReportDateTimes reportDateTimes) {
+        this.enabled = enabled;
+        this.dtoFileSuffix = "." + reportDateTimes.getZoneFingerprint() + ".dtos.json";
+        this.maxEntries = Math.max(1, maxEntries);
+        this.diskDirectory = enabled && diskEnabled ? Paths.get(diskDirectory, "v" + FORMAT_VERSION) : null;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ExtractionResultCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached extraction result for the input, or null
+     */
+    public PdfExtractionResult getResult(PdfInput input) {
+        if (!enabled) {
+            return null;
+        }
+
+        byte[] json = lookup(input, false);
+        if (json == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        PdfExtractionResult result = read(json, PdfExtractionResult.class);
+        if (result != null) {
+            result.setSourceFileName(input.getName());
+        }
+        return result;
+    }
+
+    /**
+     * Cached MudReportDTOs for the input, or null
+     */
+    public List<MudReportDTO> getMudReportDTOs(PdfInput input) {
+        if (!enabled) {
+            return null;
+        }
+
+        // A DTO miss falls through to getResult, which counts the miss
+        byte[] json = lookup(input, true);
+        if (json == null) {
+            return null;
+        }
+
+        List<MudReportDTO> dtos = read(json, DTO_LIST);
+        if (dtos != null) {
+            for (MudReportDTO dto : dtos) {
+                if (dto.getFilePath() != null) {
+                    dto.setFilePath(input.getName());
+                }
+            }
+        }
+        return dtos;
+    }
+
+    /**
+     * Store a successful extraction result
+     */
+    public void putResult(PdfInput input, PdfExtractionResult result) {
+        if (enabled && result.isSuccess()) {
+            store(input, write(result), false);
+        }
+    }
+
+    /**
+     * Store the MudReportDTOs mapped from an input
+     */
+    public void putMudReportDTOs(PdfInput input, List<MudReportDTO> dtos) {
+        if (enabled && !dtos.isEmpty()) {
+            store(input, write(dtos), true);
+        }
+    }
+
+    private byte[] lookup(PdfInput input, boolean dtos) {
+        String key = keyOf(input);
+        if (key == null) {
+            return null;
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        byte[] json = entry != null ? entry.get(dtos) : null;
+        if (json != null) {
+            hits.incrementAndGet();
+            return json;
+        }
+
+        json = readDisk(key, dtos);
+        if (json != null) {
+            diskHits.incrementAndGet();
+            memoryEntry(key).set(dtos, json);
+        }
+        return json;
+    }
+
+    private void store(PdfInput input, byte[] json, boolean dtos) {
+        String key = keyOf(input);
+        if (key == null || json == null) {
+            return;
+        }
+
+        memoryEntry(key).set(dtos, json);
+        writeDisk(key, dtos, json);
+    }
+
+    private Entry memoryEntry(String key) {
+        synchronized (entries) {
+            return entries.computeIfAbsent(key, k -> new Entry());
+        }
+    }
+
+    private String keyOf(PdfInput input) {
+        try {
+            return input.sha256();
+        } catch (IOException e) {
+            log.warn("Could not hash {}, skipping result cache: {}", input.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] readDisk(String key, boolean dtos) {
+        if (diskDirectory == null) {
+            return null;
+        }
+        Path file = diskFile(key, dtos);
+        try {
+            return Files.exists(file) ? Files.readAllBytes(file) : null;
+        } catch (IOException e) {
+            log.warn("Could not read cached result {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, boolean dtos, byte[] json) {
+        if (diskDirectory == null) {
+            return;
+        }
+        Path file = diskFile(key, dtos);
+        try {
+            Files.createDirectories(diskDirectory);
+            // Write under a temp name and move, so readers never see a partial file
+            Path temp = Files.createTempFile(diskDirectory, key, ".tmp");
+            Files.write(temp, json);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write cached result {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path diskFile(String key, boolean dtos) {
+        return diskDirectory.resolve(key + (dtos ? dtoFileSuffix : ".result.json"));
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            log.warn("Could not serialize result for caching: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T read(byte[] json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            log.warn("Could not read cached result: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T read(byte[] json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            log.warn("Could not read cached result: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isDiskEnabled() {
+        return diskDirectory != null;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Serialized result and mapped DTOs of one PDF
+     */
+    private static final class Entry {
+
+        private volatile byte[] result;
+        private volatile byte[] dtos;
+
+        private byte[] get(boolean dtos) {
+            return dtos ? this.dtos : this.result;
+        }
+
+        private void set(boolean dtos, byte[] json) {
+            if (dtos) {
+                this.dtos = json;
+            } else {
+                this.result = json;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Diagnostic record of one extraction: the rows, cells and decisions the
+ * section extractors looked at.
+ *
+ * Only requests that opt in or are sampled get a live trace; everything else
+ * gets {@link #DISABLED}, which ignores every event without formatting its
+ * message. A trace is written by the thread running the extraction and read
+ * only after {@link ExtractionTraceRecorder} has published it.
+ */
+@Getter
+public final class ExtractionTrace {
+
+    public static final ExtractionTrace DISABLED = new ExtractionTrace(null, null, false, 0);
+
+    private final String id;
+    private final String sourceName;
+    private final boolean sampled;
+    private final Instant startedAt;
+    @Getter(AccessLevel.NONE)
+    private final long startNanos;
+    @Getter(AccessLevel.NONE)
+    private final int maxEvents;
+    private final List<Event> events;
+    private int droppedEvents;
+    private long durationMillis = -1;
+    private String outcome;
+
+    ExtractionTrace(String id, String sourceName, boolean sampled, int maxEvents) {
+        this.id = id;
+        this.sourceName = sourceName;
+        this.sampled = sampled;
+        this.maxEvents = maxEvents;
+        this.startedAt = id != null ? Instant.now() : null;
+        this.startNanos = id != null ? System.nanoTime() : 0L;
+        this.events = id != null ? new ArrayList<>() : Collections.emptyList();
+    }
+
+    /**
+     * Whether events are kept; guard any loop that only exists to feed the trace
+     */
+    public boolean isEnabled() {
+        return id != null;
+    }
+
+    public void event(String stage, String message) {
+        if (isEnabled()) {
+            add(stage, message);
+        }
+    }
+
+    public void event(String stage, String format, Object arg) {
+        if (isEnabled()) {
+            add(stage, MessageFormatter.format(format, arg).getMessage());
+        }
+    }
+
+    public void event(String stage, String format, Object arg1, Object arg2) {
+        if (isEnabled()) {
+            add(stage, MessageFormatter.format(format, arg1, arg2).getMessage());
+        }
+    }
+
+    public void event(String stage, String format, Object... args) {
+        if (isEnabled()) {
+            add(stage, MessageFormatter.arrayFormat(format, args).getMessage());
+        }
+    }
+
+    /**
+     * Close the trace before it is published
+     */
+    void finish(String outcome) {
+        this.outcome = outcome;
+        this.durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private void add(String stage, String message) {
+        if (events.size() >= maxEvents) {
+            droppedEvents++;
+            return;
+        }
+        events.add(new Event((System.nanoTime() - startNanos) / 1_000, stage, message));
+    }
+
+    /**
+     * One recorded step, timed in microseconds from the start of the trace
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Event {
+
+        private final long atMicros;
+        private final String stage;
+        private final String message;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Starts extraction traces and keeps the most recent finished ones.
+ *
+ * Finished traces go into a fixed ring of slots: a writer claims the next
+ * sequence number and overwrites the oldest slot, so publishing never locks
+ * and memory stays bounded however many requests are traced.
+ */
+@Component
+public class ExtractionTraceRecorder {
+
+    private final AtomicReferenceArray<ExtractionTrace> ring;
+    private final AtomicLong published = new AtomicLong();
+    @Getter
+    private final double sampleRate;
+    private final int maxEvents;
+
+    public ExtractionTraceRecorder(@Value("${pdf.trace.capacity:32}") int capacity,
+            @Value("${pdf.trace.sample-rate:0.0}") double sampleRate,
+            @Value("${pdf.trace.max-events:2000}") int maxEvents) {
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.sampleRate = sampleRate;
+        this.maxEvents = maxEvents;
+    }
+
+    public String newTraceId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Trace for one extraction: live when an id was requested or the extraction
+     * is sampled, otherwise {@link ExtractionTrace#DISABLED}
+     */
+    public ExtractionTrace start(String sourceName, String requestedId) {
+        if (requestedId != null) {
+            return new ExtractionTrace(requestedId, sourceName, false, maxEvents);
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return new ExtractionTrace(newTraceId(), sourceName, true, maxEvents);
+        }
+        return ExtractionTrace.DISABLED;
+    }
+
+    /**
+     * Finish a live trace and make it readable, replacing the oldest one
+     */
+    public void publish(ExtractionTrace trace, String outcome) {
+        if (!trace.isEnabled()) {
+            return;
+        }
+        trace.finish(outcome);
+        long sequence = published.getAndIncrement();
+        ring.set((int) (sequence % ring.length()), trace);
+    }
+
+    /**
+     * Retained traces, newest first
+     */
+    public List<ExtractionTrace> recent() {
+        long newest = published.get() - 1;
+        List<ExtractionTrace> traces = new ArrayList<>(ring.length());
+        for (long sequence = newest; sequence >= 0 && sequence > newest - ring.length(); sequence--) {
+            ExtractionTrace trace = ring.get((int) (sequence % ring.length()));
+            if (trace != null && !traces.contains(trace)) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public ExtractionTrace find(String id) {
+        for (int i = 0; i < ring.length(); i++) {
+            ExtractionTrace trace = ring.get(i);
+            if (trace != null && trace.getId().equals(id)) {
+                return trace;
+            }
+        }
+        return null;
+    }
+
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    public long getPublished() {
+        return published.get();
+    }
+}
@@ -1,23 +1,36 @@
 package com.example.dataExtractionTool.service;
 
 import com.example.dataExtractionTool.model.*;
+import com.example.dataExtractionTool.util.TableParser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Service for exporting extracted PDF data to text files
+ * Service for exporting extracted PDF data to text files. The files are
+ * rendered and written by the {@link ExportWriter}, normally off the request
+ * thread.
  */
 @Slf4j
 @Service
@@ -26,10 +39,28 @@ public class FileExportService {
     @Value("${pdf.export.output.directory:./output}")
     private String outputDirectory;
 
-    private final MudReportMappingService mudReportMappingService;
+    // Export profile: render and write the raw table text for every /api/extract upload
+    @Value("${pdf.export.raw-text:false}")
+    private boolean rawTextEnabled;
 
-    public FileExportService(MudReportMappingService mudReportMappingService) {
+    private final MudReportMappingService mudReportMappingService;
+    private final ExportWriter exportWriter;
+    private final PropertyDictionary propertyDictionary;
+    private final ReportDateTimes reportDateTimes;
+
+    // Serializers shared by every export; the export writer owns the streams
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final ObjectWriter jsonWriter = objectMapper.writer(SerializationFeature.INDENT_OUTPUT);
+    private final ObjectWriter recordWriter = objectMapper.writer();
+
+    public FileExportService(MudReportMappingService mudReportMappingService,
+            ExportWriter exportWriter, PropertyDictionary propertyDictionary, ReportDateTimes reportDateTimes) {
         this.mudReportMappingService = mudReportMappingService;
+        this.exportWriter = exportWriter;
+        this.propertyDictionary = propertyDictionary;
+        this.reportDateTimes = reportDateTimes;
     }
 
     private static final String WELL_HEADER_FILENAME = "well_header.txt";
@@ -37,201 +68,199 @@ public class FileExportService {
     private static final String REMARKS_FILENAME = "remarks.txt";
     private static final String LOSS_FILENAME = "loss.txt";
     private static final String VOLUME_TRACK_FILENAME = "volume_track.txt";
+    private static final String RAW_TEXT_FILENAME = "raw_text.txt";
+    private static final String ALL_DATA_FILENAME = "all_data.json";
+    private static final String MUD_REPORT_FILENAME = "mud_report.json";
 
     /**
-     * Export all tables to separate TXT files
+     * Export all tables to separate TXT files, plus the JSON formats. The
+     * files are named now but written by the export writer, so the result must
+     * not be changed afterwards.
+     *
+     * @return the prefix of the export files, which export failures are logged under
      */
-    public void exportAll(PdfExtractionResult result, String baseFileName) throws IOException {
-        // Create output directory if it doesn't exist
-        Path outputPath = Paths.get(outputDirectory);
-        if (!Files.exists(outputPath)) {
-            Files.createDirectories(outputPath);
-            log.info("Created output directory: {}", outputPath.toAbsolutePath());
-        }
-
+    public String exportAll(PdfExtractionResult result, String baseFileName) throws IOException {
         // Generate timestamped filenames
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String wellHeaderFile = String.format("%s_%s_%s", baseFileName, timestamp, WELL_HEADER_FILENAME);
-        String mudPropertiesFile = String.format("%s_%s_%s", baseFileName, timestamp, MUD_PROPERTIES_FILENAME);
-        String remarksFile = String.format("%s_%s_%s", baseFileName, timestamp, REMARKS_FILENAME);
-        String lossFile = String.format("%s_%s_%s", baseFileName, timestamp, LOSS_FILENAME);
-        String volumeTrackFile = String.format("%s_%s_%s", baseFileName, timestamp, VOLUME_TRACK_FILENAME);
-
-        // Export WELL HEADER
-        exportWellHeader(result.getWellHeader(),
-                Paths.get(outputDirectory, wellHeaderFile).toString());
-
-        // Export MUD PROPERTIES
-        exportMudProperties(result.getMudProperties(),
-                Paths.get(outputDirectory, mudPropertiesFile).toString());
-
-        // Export REMARKS
-        exportRemarks(result.getRemark(),
-                Paths.get(outputDirectory, remarksFile).toString());
-
-        // Export LOSS
-        exportLoss(result.getLosses(),
-                Paths.get(outputDirectory, lossFile).toString());
-
-        // Export VOL.TRACK
-        exportVolumeTrack(result.getVolumeTracks(),
-                Paths.get(outputDirectory, volumeTrackFile).toString());
-
-        // Export Raw Text for debugging
-        if (result.getRawText() != null) {
-            String rawTextFile = String.format("%s_%s_raw_text.txt", baseFileName, timestamp);
-            exportRawText(result.getRawText(),
-                    Paths.get(outputDirectory, rawTextFile).toString());
+        String prefix = baseFileName + "_" + timestamp;
+
+        List<ExportArtifact> artifacts = new ArrayList<>(8);
+        artifacts.add(textArtifact("well_header", WELL_HEADER_FILENAME,
+                writer -> writeWellHeader(result.getWellHeader(), writer)));
+        artifacts.add(textArtifact("mud_properties", MUD_PROPERTIES_FILENAME,
+                writer -> writeMudProperties(result.getMudProperties(), writer)));
+        artifacts.add(textArtifact("remarks", REMARKS_FILENAME,
+                writer -> writeRemarks(result.getRemark(), writer)));
+        artifacts.add(textArtifact("loss", LOSS_FILENAME,
+                writer -> writeLoss(result.getLosses(), writer)));
+        artifacts.add(textArtifact("volume_track", VOLUME_TRACK_FILENAME,
+                writer -> writeVolumeTrack(result.getVolumeTracks(), writer)));
+
+        // Raw Text for debugging, when the extraction rendered it
+        String rawText = result.getRawText();
+        if (rawText != null) {
+            artifacts.add(textArtifact("raw_text", RAW_TEXT_FILENAME, writer -> writer.write(rawText)));
         }
 
-        // Export JSON (existing format)
-        String jsonFile = String.format("%s_%s_all_data.json", baseFileName, timestamp);
-        exportJson(result, Paths.get(outputDirectory, jsonFile).toString());
-
-        // Export MudReport DTO JSON (new format)
-        mudReportMappingService.exportMudReportJson(result, outputDirectory, baseFileName);
-
-        log.info("Successfully exported data to {}, {}, {}, {}, {}, raw text file, and JSON files",
-                wellHeaderFile, mudPropertiesFile, remarksFile, lossFile, volumeTrackFile);
+        // JSON (existing format) and MudReport DTO JSON (new format)
+        artifacts.add(new ExportArtifact("json", ALL_DATA_FILENAME, false,
+                out -> jsonWriter.writeValue(out, unifiedFormat(result))));
+        artifacts.add(new ExportArtifact("mud_report_json", MUD_REPORT_FILENAME, false,
+                out -> jsonWriter.writeValue(out, mudReportMappingService.transformToMudReportDTOs(result))));
+
+        WellHeader header = result.getWellHeader() != null ? result.getWellHeader() : new WellHeader();
+        exportWriter.submit(new ExportReport(Paths.get(outputDirectory), prefix, header.getApiWellNo(),
+                header.getReportDate(), artifacts, out -> recordWriter.writeValue(out, toRecord(result, prefix))));
+        log.debug("Handed {} export files of {} to the export writer", artifacts.size(), prefix);
+        return prefix;
     }
 
     /**
-     * Export raw text to a TXT file
+     * The whole report as one object, for NDJSON segments: the extracted
+     * sections plus both JSON formats
      */
-    public void exportRawText(String text, String outputPath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            writer.write(text);
+    private Map<String, Object> toRecord(PdfExtractionResult result, String prefix) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("report", prefix);
+        record.put("sourceFileName", result.getSourceFileName());
+        record.put("extractionTimestamp", result.getExtractionTimestamp());
+        record.put("wellHeader", result.getWellHeader());
+        record.put("mudProperties", result.getMudProperties());
+        record.put("remark", result.getRemark());
+        record.put("losses", result.getLosses());
+        record.put("volumeTracks", result.getVolumeTracks());
+        record.put("data", unifiedFormat(result));
+        record.put("mudReports", mudReportMappingService.transformToMudReportDTOs(result));
+        String rawText = result.getRawText();
+        if (rawText != null) {
+            record.put("rawText", rawText);
         }
+        return record;
     }
 
     /**
-     * Export WELL HEADER to a TXT file with tilde separator (vertical format)
+     * Text artifact written through a UTF-8 BufferedWriter
      */
-    public void exportWellHeader(WellHeader header, String outputPath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            // Write each field on a separate line in "Label~Value" format
-            writer.write("Well Name/No.~" + (header.getWellName() != null ? header.getWellName() : ""));
-            writer.newLine();
+    private static ExportArtifact textArtifact(String name, String fileName, TextBody body) {
+        return new ExportArtifact(name, fileName, true, out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            body.write(writer);
+            writer.flush();
+        });
+    }
 
-            writer.write("Report No.~" + (header.getReportNo() != null ? header.getReportNo() : ""));
-            writer.newLine();
+    @FunctionalInterface
+    private interface TextBody {
+        void write(BufferedWriter writer) throws IOException;
+    }
 
-            writer.write("Report Date~" + (header.getReportDate() != null ? header.getReportDate() : ""));
-            writer.newLine();
+    /**
+     * Write WELL HEADER with tilde separator (vertical format)
+     */
+    private void writeWellHeader(WellHeader header, BufferedWriter writer) throws IOException {
+        // Write each field on a separate line in "Label~Value" format
+        writer.write("Well Name/No.~" + (header.getWellName() != null ? header.getWellName() : ""));
+        writer.newLine();
 
-            writer.write("Report Time~" + (header.getReportTime() != null ? header.getReportTime() : ""));
-            writer.newLine();
+        writer.write("Report No.~" + (header.getReportNo() != null ? header.getReportNo() : ""));
+        writer.newLine();
 
-            writer.write("Spud Date~" + (header.getSpudDate() != null ? header.getSpudDate() : ""));
-            writer.newLine();
+        writer.write("Report Date~" + (header.getReportDate() != null ? header.getReportDate() : ""));
+        writer.newLine();
 
-            writer.write("Rig~" + (header.getRig() != null ? header.getRig() : ""));
-            writer.newLine();
+        writer.write("Report Time~" + (header.getReportTime() != null ? header.getReportTime() : ""));
+        writer.newLine();
 
-            writer.write("Activity~" + (header.getActivity() != null ? header.getActivity() : ""));
-            writer.newLine();
+        writer.write("Spud Date~" + (header.getSpudDate() != null ? header.getSpudDate() : ""));
+        writer.newLine();
 
-            writer.write("MD(ft)~" + (header.getMd() != null ? header.getMd() : ""));
-            writer.newLine();
+        writer.write("Rig~" + (header.getRig() != null ? header.getRig() : ""));
+        writer.newLine();
 
-            writer.write("TVD(ft)~" + (header.getTvd() != null ? header.getTvd() : ""));
-            writer.newLine();
+        writer.write("Activity~" + (header.getActivity() != null ? header.getActivity() : ""));
+        writer.newLine();
 
-            writer.write("Inc (deg)~" + (header.getInc() != null ? header.getInc() : ""));
-            writer.newLine();
+        writer.write("MD(ft)~" + (header.getMd() != null ? header.getMd() : ""));
+        writer.newLine();
 
-            writer.write("AZI (deg)~" + (header.getAzi() != null ? header.getAzi() : ""));
-            writer.newLine();
+        writer.write("TVD(ft)~" + (header.getTvd() != null ? header.getTvd() : ""));
+        writer.newLine();
 
-            writer.write("API well No.~" + (header.getApiWellNo() != null ? header.getApiWellNo() : ""));
-            writer.newLine();
+        writer.write("Inc (deg)~" + (header.getInc() != null ? header.getInc() : ""));
+        writer.newLine();
 
-            log.info("Exported WELL HEADER to: {}", outputPath);
-        }
+        writer.write("AZI (deg)~" + (header.getAzi() != null ? header.getAzi() : ""));
+        writer.newLine();
+
+        writer.write("API well No.~" + (header.getApiWellNo() != null ? header.getApiWellNo() : ""));
+        writer.newLine();
     }
 
     /**
-     * Export MUD PROPERTIES to a TXT file with tilde separator
+     * Write MUD PROPERTIES with tilde separator
      */
-    public void exportMudProperties(List<MudProperty> properties, String outputPath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            // Write header (removed Unit column)
-            writer.write("Property Name~Sample 1~Sample 2~Sample 3~Sample 4");
+    private void writeMudProperties(List<MudProperty> properties, BufferedWriter writer) throws IOException {
+        // Write header (removed Unit column)
+        writer.write("Property Name~Sample 1~Sample 2~Sample 3~Sample 4");
+        writer.newLine();
+
+        // Write data rows
+        for (MudProperty property : properties) {
+            writer.write(property.toTildeSeparated());
             writer.newLine();
-
-            // Write data rows
-            for (MudProperty property : properties) {
-                writer.write(property.toTildeSeparated());
-                writer.newLine();
-            }
-
-            log.info("Exported {} MUD PROPERTIES to: {}", properties.size(), outputPath);
         }
     }
 
     /**
-     * Export REMARKS to a TXT file with custom formatting (Paragraph + Key-Value
-     * pairs)
+     * Write REMARKS with custom formatting (Paragraph + Key-Value pairs)
      */
-    public void exportRemarks(Remark remark, String outputPath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            // Write Remark Text (Narrative) first
-            if (remark.getRemarkText() != null && !remark.getRemarkText().isEmpty()) {
-                writer.write(remark.getRemarkText());
-                writer.newLine();
-                writer.newLine(); // Add spacing between text and data
-            }
-
-            // Write OBM
-            // writer.write("OBM on Location/Lease (bbl)~"
-            // + (remark.getObmOnLocationLease() != null ? remark.getObmOnLocationLease() :
-            // ""));
-            // writer.newLine();
+    private void writeRemarks(Remark remark, BufferedWriter writer) throws IOException {
+        // Write Remark Text (Narrative) first
+        if (remark.getRemarkText() != null && !remark.getRemarkText().isEmpty()) {
+            writer.write(remark.getRemarkText());
+            writer.newLine();
+            writer.newLine(); // Add spacing between text and data
+        }
 
-            // Write WBM
-            // writer.write("WBM Tanks (bbl)~" + (remark.getWbmTanks() != null ?
-            // remark.getWbmTanks() : ""));
-            // writer.newLine();
+        // Write OBM
+        // writer.write("OBM on Location/Lease (bbl)~"
+        // + (remark.getObmOnLocationLease() != null ? remark.getObmOnLocationLease() :
+        // ""));
+        // writer.newLine();
 
-            log.info("Exported REMARKS to: {}", outputPath);
-        }
+        // Write WBM
+        // writer.write("WBM Tanks (bbl)~" + (remark.getWbmTanks() != null ?
+        // remark.getWbmTanks() : ""));
+        // writer.newLine();
     }
 
     /**
-     * Export LOSS to a TXT file with tilde separator
+     * Write LOSS with tilde separator
      */
-    public void exportLoss(List<Loss> losses, String outputPath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            // Write header
-            writer.write("Category~Value (bbl)");
+    private void writeLoss(List<Loss> losses, BufferedWriter writer) throws IOException {
+        // Write header
+        writer.write("Category~Value (bbl)");
+        writer.newLine();
+
+        // Write data rows
+        for (Loss loss : losses) {
+            writer.write(loss.toTildeSeparated());
             writer.newLine();
-
-            // Write data rows
-            for (Loss loss : losses) {
-                writer.write(loss.toTildeSeparated());
-                writer.newLine();
-            }
-
-            log.info("Exported {} LOSS entries to: {}", losses.size(), outputPath);
         }
     }
 
     /**
-     * Export VOL.TRACK to a TXT file with tilde separator
+     * Write VOL.TRACK with tilde separator
      */
-    public void exportVolumeTrack(List<VolumeTrack> volumeTracks, String outputPath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath))) {
-            // Write header
-            writer.write("Category~Value (bbl)");
+    private void writeVolumeTrack(List<VolumeTrack> volumeTracks, BufferedWriter writer) throws IOException {
+        // Write header
+        writer.write("Category~Value (bbl)");
+        writer.newLine();
+
+        // Write data rows
+        for (VolumeTrack volumeTrack : volumeTracks) {
+            writer.write(volumeTrack.toTildeSeparated());
             writer.newLine();
-
-            // Write data rows
-            for (VolumeTrack volumeTrack : volumeTracks) {
-                writer.write(volumeTrack.toTildeSeparated());
-                writer.newLine();
-            }
-
-            log.info("Exported {} VOL.TRACK entries to: {}", volumeTracks.size(), outputPath);
         }
     }
 
@@ -243,21 +272,17 @@ public class FileExportService {
     }
 
     /**
-     * Export all data to a single JSON file
+     * Whether exportAll only queues the files, to be written after it returns
      */
+    public boolean isExportAsync() {
+        return exportWriter.isAsync();
+    }
+
     /**
-     * Export all data to a single JSON file
+     * Whether the export profile asks for the raw text file on every export
      */
-    public void exportJson(PdfExtractionResult result, String outputPath) throws IOException {
-        com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-        mapper.enable(com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT);
-        // Configure to not fail on empty beans if necessary
-        mapper.disable(com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS);
-
-        List<Map<String, Object>> unifiedData = transformToUnifiedFormat(result);
-
-        mapper.writeValue(new java.io.File(outputPath), unifiedData);
-        log.info("Exported JSON data to: {}", outputPath);
+    public boolean isRawTextEnabled() {
+        return rawTextEnabled;
     }
 
     /**
@@ -268,52 +293,7 @@ public class FileExportService {
         List<Map<String, Object>> outputList = new java.util.ArrayList<>();
 
         // Base fields from WellHeader and Remarks
-        java.util.LinkedHashMap<String, Object> baseMap = new java.util.LinkedHashMap<>();
-
-        // Flatten WellHeader fields using camelCase
-        if (result.getWellHeader() != null) {
-            WellHeader wh = result.getWellHeader();
-            addIfPresent(baseMap, "wellName", wh.getWellName());
-            addIfPresent(baseMap, "reportNo", wh.getReportNo());
-            addIfPresent(baseMap, "reportDate", wh.getReportDate());
-            addIfPresent(baseMap, "reportTime", wh.getReportTime());
-            addIfPresent(baseMap, "spudDate", wh.getSpudDate());
-            addIfPresent(baseMap, "rig", wh.getRig());
-            addIfPresent(baseMap, "activity", wh.getActivity());
-            addIfPresent(baseMap, "md", wh.getMd());
-            addIfPresent(baseMap, "tvd", wh.getTvd());
-            addIfPresent(baseMap, "inc", wh.getInc());
-            addIfPresent(baseMap, "azi", wh.getAzi());
-            addIfPresent(baseMap, "apiWellNo", wh.getApiWellNo());
-
-            // Calculate and add systemDefaultTimeZone (Process Date & Time to Epoch)
-            if (wh.getReportDate() != null && wh.getReportTime() != null) {
-                try {
-                    // formats: 10/24/2025 and 16:00
-                    java.time.LocalDate date = java.time.LocalDate.parse(wh.getReportDate().trim(),
-                            java.time.format.DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-                    java.time.LocalTime time = java.time.LocalTime.parse(wh.getReportTime().trim(),
-                            java.time.format.DateTimeFormatter.ofPattern("HH:mm"));
-
-                    java.time.LocalDateTime ldt = java.time.LocalDateTime.of(date, time);
-                    long epoch = ldt.atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
-
-                    baseMap.put("systemDefaultTimeZone", epoch);
-                } catch (Exception e) {
-                    log.warn("Could not parse date/time for systemDefaultTimeZone: {} {}", wh.getReportDate(),
-                            wh.getReportTime());
-                }
-            }
-        }
-
-        if (result.getRemark() != null) {
-            addIfPresent(baseMap, "remarks", result.getRemark().getRemarkText());
-        }
-
-        // Add defaults for missing fields as per IDL
-        baseMap.putIfAbsent("companyName", "NA");
-        baseMap.putIfAbsent("fluidName", "NA");
-        baseMap.putIfAbsent("phase", "NA");
+        java.util.LinkedHashMap<String, Object> baseMap = baseFields(result);
 
         // Iterate samples 1 to 4
         boolean foundAnySample = false;
@@ -322,11 +302,11 @@ public class FileExportService {
             boolean hasData = false;
 
             for (MudProperty prop : result.getMudProperties()) {
-                String val = getSampleValue(prop, i);
-                if (val != null && !val.trim().isEmpty()) {
+                NumericValues numbers = prop.getNumericSamples();
+                if (numbers.isPresent(i - 1)) {
                     hasData = true;
-                    String key = mapKey(prop.getPropertyName());
-                    Object typedVal = parseValue(val);
+                    String key = propertyDictionary.lookup(prop.getPropertyName()).getExportKey();
+                    Object typedVal = numbers.isNumber(i - 1) ? numbers.get(i - 1) : getSampleValue(prop, i).trim();
                     sampleMap.put(key, typedVal);
                 }
             }
@@ -345,6 +325,184 @@ public class FileExportService {
         return outputList;
     }
 
+    /**
+     * The unified format as a value Jackson writes through
+     * {@link #writeUnifiedFormat}, for response bodies and export records
+     */
+    public JsonSerializable unifiedFormat(PdfExtractionResult result) {
+        return new JsonSerializable.Base() {
+            @Override
+            public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+                writeUnifiedFormat(result, generator);
+            }
+
+            @Override
+            public void serializeWithType(JsonGenerator generator, SerializerProvider provider,
+                    TypeSerializer typeSerializer) throws IOException {
+                serialize(generator, provider);
+            }
+        };
+    }
+
+    /**
+     * Stream the unified format straight from the result: the same JSON as
+     * serializing {@link #transformToUnifiedFormat}, without a map per sample.
+     *
+     * The header fields are resolved and their names encoded once, then
+     * written at the start of every sample. A property key that repeats a
+     * header field, or an earlier property, replaces that value in place,
+     * as the map copy would.
+     */
+    public void writeUnifiedFormat(PdfExtractionResult result, JsonGenerator generator) throws IOException {
+        Map<String, Object> baseMap = baseFields(result);
+        int baseCount = baseMap.size();
+
+        // Every distinct key gets an id; the header fields take the first ones
+        Map<String, Integer> keyIds = new HashMap<>();
+        List<SerializedString> keyNames = new ArrayList<>();
+        Object[] baseValues = new Object[baseCount];
+        for (Map.Entry<String, Object> field : baseMap.entrySet()) {
+            baseValues[keyNames.size()] = field.getValue();
+            keyIds.put(field.getKey(), keyNames.size());
+            keyNames.add(new SerializedString(field.getKey()));
+        }
+
+        List<MudProperty> properties = result.getMudProperties();
+        int[] propertyKeys = new int[properties.size()];
+        for (int p = 0; p < propertyKeys.length; p++) {
+            String key = propertyDictionary.lookup(properties.get(p).getPropertyName()).getExportKey();
+            Integer id = keyIds.get(key);
+            if (id == null) {
+                id = keyNames.size();
+                keyIds.put(key, id);
+                keyNames.add(new SerializedString(key));
+            }
+            propertyKeys[p] = id;
+        }
+
+        // Per key, the property whose value the sample shows (the last one) and
+        // the property that put the key in place (the first one)
+        int[] lastProperty = new int[keyNames.size()];
+        int[] firstProperty = new int[keyNames.size()];
+        boolean foundAnySample = false;
+        generator.writeStartArray();
+        for (int i = 1; i <= 4; i++) {
+            java.util.Arrays.fill(lastProperty, -1);
+            java.util.Arrays.fill(firstProperty, -1);
+            boolean hasData = false;
+
+            for (int p = 0; p < propertyKeys.length; p++) {
+                if (properties.get(p).getNumericSamples().isPresent(i - 1)) {
+                    hasData = true;
+                    int key = propertyKeys[p];
+                    lastProperty[key] = p;
+                    if (firstProperty[key] < 0) {
+                        firstProperty[key] = p;
+                    }
+                }
+            }
+
+            if (hasData) {
+                foundAnySample = true;
+                generator.writeStartObject();
+                for (int key = 0; key < baseCount; key++) {
+                    generator.writeFieldName(keyNames.get(key));
+                    if (lastProperty[key] >= 0) {
+                        writeSampleValue(generator, properties.get(lastProperty[key]), i);
+                    } else {
+                        writeValue(generator, baseValues[key]);
+                    }
+                }
+                for (int p = 0; p < propertyKeys.length; p++) {
+                    int key = propertyKeys[p];
+                    if (key >= baseCount && firstProperty[key] == p) {
+                        generator.writeFieldName(keyNames.get(key));
+                        writeSampleValue(generator, properties.get(lastProperty[key]), i);
+                    }
+                }
+                generator.writeEndObject();
+            }
+        }
+
+        // If no samples found (empty table?), just write the base headers
+        if (!foundAnySample) {
+            generator.writeStartObject();
+            for (int key = 0; key < baseCount; key++) {
+                generator.writeFieldName(keyNames.get(key));
+                writeValue(generator, baseValues[key]);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * A sample value straight from its parsed number, or as trimmed text
+     */
+    private void writeSampleValue(JsonGenerator generator, MudProperty property, int sampleIdx) throws IOException {
+        NumericValues numbers = property.getNumericSamples();
+        if (numbers.isNumber(sampleIdx - 1)) {
+            generator.writeNumber(numbers.get(sampleIdx - 1));
+        } else {
+            generator.writeString(getSampleValue(property, sampleIdx).trim());
+        }
+    }
+
+    /**
+     * Values of the unified format are parsed doubles, the epoch millis or
+     * strings
+     */
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof Double) {
+            generator.writeNumber((Double) value);
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else {
+            generator.writeString((String) value);
+        }
+    }
+
+    /**
+     * Header and remark fields shared by every sample of the unified format
+     */
+    private java.util.LinkedHashMap<String, Object> baseFields(PdfExtractionResult result) {
+        java.util.LinkedHashMap<String, Object> baseMap = new java.util.LinkedHashMap<>();
+
+        // Flatten WellHeader fields using camelCase
+        if (result.getWellHeader() != null) {
+            WellHeader wh = result.getWellHeader();
+            addIfPresent(baseMap, "wellName", wh.getWellName());
+            addIfPresent(baseMap, "reportNo", wh.getReportNo());
+            addIfPresent(baseMap, "reportDate", wh.getReportDate());
+            addIfPresent(baseMap, "reportTime", wh.getReportTime());
+            addIfPresent(baseMap, "spudDate", wh.getSpudDate());
+            addIfPresent(baseMap, "rig", wh.getRig());
+            addIfPresent(baseMap, "activity", wh.getActivity());
+            NumericValues drilling = wh.getNumericDrillingData();
+            addIfPresent(baseMap, "md", wh.getMd(), drilling, WellHeader.MD);
+            addIfPresent(baseMap, "tvd", wh.getTvd(), drilling, WellHeader.TVD);
+            addIfPresent(baseMap, "inc", wh.getInc(), drilling, WellHeader.INC);
+            addIfPresent(baseMap, "azi", wh.getAzi(), drilling, WellHeader.AZI);
+            addIfPresent(baseMap, "apiWellNo", wh.getApiWellNo());
+
+            // Report date & time to epoch millis, in the zone of the rig; the key name is kept for consumers
+            Long epoch = reportDateTimes.toEpochMillis(wh.getReportDate(), wh.getReportTime(), wh.getRig());
+            if (epoch != null) {
+                baseMap.put("systemDefaultTimeZone", epoch);
+            }
+        }
+
+        if (result.getRemark() != null) {
+            addIfPresent(baseMap, "remarks", result.getRemark().getRemarkText());
+        }
+
+        // Add defaults for missing fields as per IDL
+        baseMap.putIfAbsent("companyName", "NA");
+        baseMap.putIfAbsent("fluidName", "NA");
+        baseMap.putIfAbsent("phase", "NA");
+        return baseMap;
+    }
+
     private String getSampleValue(MudProperty prop, int sampleIdx) {
         switch (sampleIdx) {
             case 1:
@@ -366,82 +524,30 @@ public class FileExportService {
         }
     }
 
-    // Mapping of Field Labels to Desired JSON Keys
-    private static final java.util.Map<String, String> FIELD_MAPPINGS = new java.util.HashMap<>();
-    static {
-        FIELD_MAPPINGS.put("HTHP filtrate (ml/30min)", "hthpWaterLoss");
-        FIELD_MAPPINGS.put("HTHP filtrate (ml/30min)", "apiWaterLoss");
-        FIELD_MAPPINGS.put("Chlorides whole mud (mg/L)", "Chlorides");
-        FIELD_MAPPINGS.put("Chlorides (mg/L)", "chlorides");
-        FIELD_MAPPINGS.put("Funnel visc. (sec/qt)", "funnelViscosity");
-        FIELD_MAPPINGS.put("Solids adjusted for salt (%)", "lowGravitySolids");
-        FIELD_MAPPINGS.put("MW (ppg)", "mudWeight");
-        FIELD_MAPPINGS.put("Alkalinity mud (pom) (cc/cc)", "phValue");
-        FIELD_MAPPINGS.put("Oil (%)", "percentOil");
-        FIELD_MAPPINGS.put("Water (%)", "percentWater");
-        FIELD_MAPPINGS.put("PV (cP)", "plasticViscosity");
-        FIELD_MAPPINGS.put("YP (lbf/100ft2)", "yieldPoint");
-        FIELD_MAPPINGS.put("Gel str. (10sec) (lbf/100ft2)", "gels10Sec");
-        FIELD_MAPPINGS.put("Gel str. (10min) (lbf/100ft2)", "gels10Min");
-        FIELD_MAPPINGS.put("Gel str. (30min) (lbf/100ft2)", "gels30Min");
-        FIELD_MAPPINGS.put("Depth (ft)", "depth");
-    }
-
-    private String mapKey(String propertyName) {
-        if (propertyName == null)
-            return "unknown";
-        String trimName = propertyName.trim();
-
-        // Check exact mapping
-        if (FIELD_MAPPINGS.containsKey(trimName)) {
-            return FIELD_MAPPINGS.get(trimName);
-        }
-
-        // Check partial match for Gel strength if exact failed
-        if (trimName.startsWith("Gel str. (10sec)"))
-            return "gels10Sec";
-        if (trimName.startsWith("Gel str. (10min)"))
-            return "gels10Min";
-        if (trimName.startsWith("Gel str. (30min)"))
-            return "gels30Min";
-
-        // Fallback: Convert to camelCase
-        return toCamelCase(trimName);
-    }
-
-    private String toCamelCase(String input) {
-        StringBuilder result = new StringBuilder();
-        boolean nextUpper = false;
-        boolean first = true;
-
-        for (char c : input.toCharArray()) {
-            if (Character.isLetterOrDigit(c)) {
-                if (first) {
-                    result.append(Character.toLowerCase(c));
-                    first = false;
-                } else if (nextUpper) {
-                    result.append(Character.toUpperCase(c));
-                    nextUpper = false;
-                } else {
-                    result.append(c);
-                }
+    /**
+     * As {@link #addIfPresent(Map, String, String)}, from the already parsed
+     * number
+     */
+    private void addIfPresent(java.util.Map<String, Object> map, String key, String value, NumericValues numbers,
+            int index) {
+        if (value != null && !value.isEmpty()) {
+            if (numbers.isNumber(index)) {
+                map.put(key, numbers.get(index));
             } else {
-                nextUpper = true;
+                map.put(key, numbers.isPresent(index) ? value.trim() : "NA");
             }
         }
-        return result.toString();
     }
 
     private Object parseValue(String value) {
         if (value == null || value.trim().isEmpty()) {
             return "NA";
         }
-        try {
-            // Try parsing as double
-            return Double.parseDouble(value.trim());
-        } catch (NumberFormatException e) {
-            // Return valid string
-            return value.trim();
+        // Numbers as written become doubles, anything else stays a string
+        String trimmed = value.trim();
+        if (TableParser.classify(trimmed) == TableParser.ValueShape.NUMBER) {
+            return TableParser.parseNumber(trimmed);
         }
+        return trimmed;
     }
 }
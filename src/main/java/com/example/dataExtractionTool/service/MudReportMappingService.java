@@ -2,18 +2,10 @@ package com.example.dataExtractionTool.service;
 
 import com.example.dataExtractionTool.dto.MudReportDTO;
 import com.example.dataExtractionTool.model.*;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.io.IOException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,12 +17,18 @@ import java.util.List;
 @Service
 public class MudReportMappingService {
 
-    private final ObjectMapper objectMapper;
+    // Samples per report in the MUD PROPERTIES table
+    private static final int SAMPLE_COUNT = 4;
 
-    public MudReportMappingService() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        this.objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    private final ExtractionMetrics extractionMetrics;
+    private final PropertyDictionary propertyDictionary;
+    private final ReportDateTimes reportDateTimes;
+
+    public MudReportMappingService(ExtractionMetrics extractionMetrics, PropertyDictionary propertyDictionary,
+            ReportDateTimes reportDateTimes) {
+        this.extractionMetrics = extractionMetrics;
+        this.propertyDictionary = propertyDictionary;
+        this.reportDateTimes = reportDateTimes;
     }
 
     /**
@@ -38,6 +36,24 @@ public class MudReportMappingService {
      * Returns only Sample 1 data from each PDF
      */
     public List<MudReportDTO> transformToMudReportDTOs(PdfExtractionResult result) {
+        return transformToMudReportDTOs(result, false);
+    }
+
+    /**
+     * Transform PdfExtractionResult to MudReportDTOs: Sample 1 only, or with
+     * allSamples one DTO per populated sample, in sample order
+     */
+    public List<MudReportDTO> transformToMudReportDTOs(PdfExtractionResult result, boolean allSamples) {
+        Timer.Sample sample = extractionMetrics.start();
+        try {
+            return createMudReportDTOs(result, allSamples ? SAMPLE_COUNT : 1);
+        } finally {
+            extractionMetrics.stop(sample, ExtractionMetrics.MAPPING,
+                    allSamples ? "mud_report_all_samples" : "mud_report");
+        }
+    }
+
+    private List<MudReportDTO> createMudReportDTOs(PdfExtractionResult result, int sampleCount) {
         List<MudReportDTO> dtoList = new ArrayList<>();
 
         if (result == null || result.getMudProperties() == null || result.getMudProperties().isEmpty()) {
@@ -45,41 +61,35 @@ public class MudReportMappingService {
             return dtoList;
         }
 
-        // Process only Sample 1 (ignore Sample 2, 3, 4)
-        int sampleIdx = 1;
-        MudReportDTO dto = createDTOForSample(result, sampleIdx);
+        // Map Mud Properties of every requested sample at once
+        MudReportDTO[] sampleDTOs = mapMudProperties(result.getMudProperties(), sampleCount);
+
+        // Only add the samples that have actual data
+        for (MudReportDTO dto : sampleDTOs) {
+            if (dto != null) {
+                dtoList.add(completeDTO(dto, result));
+            }
+        }
 
-        // Only add if the sample has actual data
-        if (hasSampleData(result.getMudProperties(), sampleIdx)) {
-            dtoList.add(dto);
-            log.info("Created MudReportDTO for Sample 1 from file: {}", result.getSourceFileName());
+        if (dtoList.isEmpty()) {
+            log.warn("No sample has data, creating a DTO with header information only");
+            dtoList.add(completeDTO(new MudReportDTO(), result)); // Create one with just header info
         } else {
-            log.warn("Sample 1 has no data, creating a DTO with header information only");
-            dtoList.add(createDTOForSample(result, 0)); // Create one with just header info
+            log.info("Created {} MudReportDTO(s) from file: {}", dtoList.size(), result.getSourceFileName());
         }
 
         return dtoList;
     }
 
     /**
-     * Create a MudReportDTO for a specific sample
+     * Add the report-level fields to a DTO
      */
-    private MudReportDTO createDTOForSample(PdfExtractionResult result, int sampleNumber) {
-        MudReportDTO dto = new MudReportDTO();
-
-        // Set sample number
-        // dto.setSampleNumber(sampleNumber > 0 ? sampleNumber : null);
-
+    private MudReportDTO completeDTO(MudReportDTO dto, PdfExtractionResult result) {
         // Map Well Header fields
         if (result.getWellHeader() != null) {
             mapWellHeaderFields(dto, result.getWellHeader());
         }
 
-        // Map Mud Properties for this sample
-        if (sampleNumber > 0 && result.getMudProperties() != null) {
-            mapMudPropertiesForSample(dto, result.getMudProperties(), sampleNumber);
-        }
-
         // Map Remarks
         if (result.getRemark() != null && result.getRemark().getRemarkText() != null) {
             dto.setRemarks(result.getRemark().getRemarkText());
@@ -114,7 +124,8 @@ public class MudReportMappingService {
 
         // Convert reportDate to epoch timestamp
         if (wellHeader.getReportDate() != null && wellHeader.getReportTime() != null) {
-            Long epochTime = convertToEpoch(wellHeader.getReportDate(), wellHeader.getReportTime());
+            Long epochTime = reportDateTimes.toEpochMillis(wellHeader.getReportDate(), wellHeader.getReportTime(),
+                    wellHeader.getRig());
             dto.setReportDate(epochTime);
         }
 
@@ -125,99 +136,30 @@ public class MudReportMappingService {
     }
 
     /**
-     * Map Mud Properties for a specific sample to DTO
+     * Map Mud Properties of samples 1 to sampleCount in one pass over the
+     * rows. Each row is resolved once and written into every sample that has
+     * a value; a sample without any value stays null.
      */
-    private void mapMudPropertiesForSample(MudReportDTO dto, List<MudProperty> mudProperties, int sampleNumber) {
+    private MudReportDTO[] mapMudProperties(List<MudProperty> mudProperties, int sampleCount) {
+        MudReportDTO[] dtos = new MudReportDTO[sampleCount];
         for (MudProperty property : mudProperties) {
-            String value = getSampleValue(property, sampleNumber);
-
-            if (value == null || value.trim().isEmpty()) {
-                continue;
-            }
-
-            String propertyName = property.getPropertyName().trim();
+            PropertyDictionary.Field field = propertyDictionary.lookup(property.getPropertyName()).getField();
+            NumericValues numbers = property.getNumericSamples();
 
-            // Map based on property name
-            try {
-                if (propertyName.contains("MW") && propertyName.contains("ppg")) {
-                    dto.setMudWeight(parseFloat(value));
-                } else if (propertyName.contains("Depth") && propertyName.contains("ft")) {
-                    dto.setDepth(parseFloat(value));
-                } else if (propertyName.contains("Gel str.") && propertyName.contains("10min")) {
-                    dto.setGels10Min(parseFloat(value));
-                } else if (propertyName.contains("Gel str.") && propertyName.contains("10sec")) {
-                    dto.setGels10Sec(parseFloat(value));
-                } else if (propertyName.contains("Gel str.") && propertyName.contains("30min")) {
-                    dto.setGels30Min(parseFloat(value));
-                } else if (propertyName.contains("Water") && propertyName.contains("%")) {
-                    dto.setPercentWater(parseFloat(value));
-                } else if (propertyName.contains("Oil") && propertyName.contains("%")) {
-                    dto.setPercentOil(parseFloat(value));
-                } else if (propertyName.contains("PV") && propertyName.contains("cP")) {
-                    dto.setPlasticViscosity(parseFloat(value));
-                } else if (propertyName.contains("Funnel visc")) {
-                    dto.setViscosityFunnel(parseFloat(value));
-                } else if (propertyName.contains("YP") && propertyName.contains("lbf")) {
-                    dto.setYieldPoint(parseFloat(value));
-                } else if (propertyName.contains("High gravity solids")) {
-                    dto.setPercentHighGravitySolids(parseFloat(value));
-                } else if (propertyName.contains("Low gravity solids") ||
-                        (propertyName.contains("Solids") && propertyName.contains("adjusted"))) {
-                    dto.setPercentLowGravitySolids(parseFloat(value));
-                } else if (propertyName.contains("pH") ||
-                        (propertyName.contains("Alkalinity") && propertyName.contains("mud"))) {
-                    dto.setPhValue(parseFloat(value));
-                } else if (propertyName.contains("Chlorides")) {
-                    dto.setChloridesConc(parseFloat(value));
-                } else if (propertyName.contains("Electrostatic") || propertyName.contains("ESS") ||
-                        propertyName.contains("Electrical")) {
-                    dto.setElectroStaticStability(parseFloat(value));
-                } else if (propertyName.contains("HTHP") && propertyName.contains("filtrate")) {
-                    // Set both apiWaterLoss and hthpWaterLoss from HTHP filtrate
-                    Float filtrateValue = parseFloat(value);
-                    dto.setApiWaterLoss(filtrateValue);
-                    dto.setHthpWaterLoss(filtrateValue);
-                } else if (propertyName.contains("Filter cake") && propertyName.contains("HTHP")) {
-                    dto.setFilterCakeHthp(parseFloat(value));
-                } else if (propertyName.contains("Filter cake") && propertyName.contains("LTLP")) {
-                    dto.setFilterCakeLtlp(parseFloat(value));
+            for (int i = 0; i < sampleCount; i++) {
+                if (!numbers.isPresent(i)) {
+                    continue;
+                }
+                if (dtos[i] == null) {
+                    dtos[i] = new MudReportDTO();
+                }
+                if (field != null) {
+                    // Commas are thousands separators here; text that is not a number maps to null
+                    field.set(dtos[i], numbers.isLenientNumber(i) ? (float) numbers.get(i) : null);
                 }
-            } catch (Exception e) {
-                log.warn("Error mapping property '{}' with value '{}': {}",
-                        propertyName, value, e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * Get sample value based on sample index
-     */
-    private String getSampleValue(MudProperty property, int sampleIdx) {
-        switch (sampleIdx) {
-            case 1:
-                return property.getSample1();
-            case 2:
-                return property.getSample2();
-            case 3:
-                return property.getSample3();
-            case 4:
-                return property.getSample4();
-            default:
-                return null;
-        }
-    }
-
-    /**
-     * Check if a sample has any data
-     */
-    private boolean hasSampleData(List<MudProperty> mudProperties, int sampleIdx) {
-        for (MudProperty property : mudProperties) {
-            String value = getSampleValue(property, sampleIdx);
-            if (value != null && !value.trim().isEmpty()) {
-                return true;
             }
         }
-        return false;
+        return dtos;
     }
 
     /**
@@ -234,66 +176,4 @@ public class MudReportMappingService {
             dto.setPhase("NA");
         }
     }
-
-    /**
-     * Parse string to Float, return null if parsing fails
-     */
-    private Float parseFloat(String value) {
-        if (value == null || value.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            // Remove commas and extra spaces
-            String cleaned = value.trim().replace(",", "");
-            return Float.parseFloat(cleaned);
-        } catch (NumberFormatException e) {
-            log.debug("Could not parse '{}' as Float", value);
-            return null;
-        }
-    }
-
-    /**
-     * Convert date and time strings to epoch timestamp
-     * Handles both single and double digit dates (e.g., "9/26/2025" and
-     * "09/26/2025")
-     */
-    private Long convertToEpoch(String dateStr, String timeStr) {
-        try {
-            // Try flexible date format first (handles both M/d/yyyy and MM/dd/yyyy)
-            DateTimeFormatter flexibleDateFormatter = DateTimeFormatter.ofPattern("[M/d/yyyy][MM/dd/yyyy]");
-            LocalDate date = LocalDate.parse(dateStr.trim(), flexibleDateFormatter);
-
-            // Try flexible time format (handles both H:mm and HH:mm)
-            DateTimeFormatter flexibleTimeFormatter = DateTimeFormatter.ofPattern("[H:mm][HH:mm]");
-            LocalTime time = LocalTime.parse(timeStr.trim(), flexibleTimeFormatter);
-
-            LocalDateTime dateTime = LocalDateTime.of(date, time);
-            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
-        } catch (Exception e) {
-            log.warn("Could not parse date/time: {} {}", dateStr, timeStr, e);
-            return null;
-        }
-    }
-
-    /**
-     * Export MudReportDTO list to JSON file
-     */
-    public void exportToJson(List<MudReportDTO> dtoList, String outputPath) throws IOException {
-        objectMapper.writeValue(new File(outputPath), dtoList);
-        log.info("Exported {} MudReportDTO objects to: {}", dtoList.size(), outputPath);
-    }
-
-    /**
-     * Export MudReportDTO list to JSON file with custom filename
-     */
-    public void exportMudReportJson(PdfExtractionResult result, String outputDirectory, String baseFileName)
-            throws IOException {
-        List<MudReportDTO> dtoList = transformToMudReportDTOs(result);
-
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String jsonFileName = String.format("%s_%s_mud_report.json", baseFileName, timestamp);
-        String fullPath = new File(outputDirectory, jsonFileName).getAbsolutePath();
-
-        exportToJson(dtoList, fullPath);
-    }
 }
@@ -0,0 +1,23 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import technology.tabula.Table;
+
+import java.util.List;
+
+/**
+ * Tables detected on a single page, with the time spent detecting them
+ */
+@Getter
+@AllArgsConstructor
+public class PageTables {
+
+    private final int pageNumber;
+    private final List<Table> tables;
+    private final long detectionNanos;
+
+    public long getDetectionMillis() {
+        return detectionNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.dataExtractionTool.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.PDFTextStripperByArea;
+import technology.tabula.ObjectExtractor;
+import technology.tabula.Page;
+import technology.tabula.PageIterator;
+
+import java.awt.Rectangle;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds a single parsed PDF for the duration of one extraction request.
+ *
+ * The document is loaded once and shared by the Tabula, raw-text and remarks
+ * stages. Tabula pages and PDFBox text layers are built lazily on first use
+ * and cached, so no stage has to re-open or re-strip the file.
+ */
+public class PdfExtractionContext implements Closeable {
+
+    private final PDDocument document;
+    private final String sourceName;
+
+    private List<Page> pages;
+    private final Map<Integer, String> pageTextCache = new HashMap<>();
+    private final Map<String, String> regionTextCache = new HashMap<>();
+
+    public PdfExtractionContext(PDDocument document, String sourceName) {
+        this.document = document;
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Load a PDF input and wrap it in a new context
+     */
+    public static PdfExtractionContext open(PdfInput input) throws IOException {
+        return new PdfExtractionContext(input.load(), input.getName());
+    }
+
+    public PDDocument getDocument() {
+        return document;
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    public int getPageCount() {
+        return document.getNumberOfPages();
+    }
+
+    /**
+     * Tabula pages for the whole document, extracted on first access
+     */
+    public List<Page> getPages() {
+        if (pages == null) {
+            // Do not close the extractor here as it closes the PDDocument used later
+            @SuppressWarnings("resource")
+            ObjectExtractor extractor = new ObjectExtractor(document);
+            PageIterator pageIterator = extractor.extract();
+
+            List<Page> extracted = new ArrayList<>();
+            while (pageIterator.hasNext()) {
+                extracted.add(pageIterator.next());
+            }
+            pages = Collections.unmodifiableList(extracted);
+        }
+        return pages;
+    }
+
+    /**
+     * Plain text of a single page (1-based), stripped on first access
+     */
+    public String getPageText(int pageNumber) throws IOException {
+        String text = pageTextCache.get(pageNumber);
+        if (text == null) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(pageNumber);
+            stripper.setEndPage(pageNumber);
+            text = stripper.getText(document);
+            pageTextCache.put(pageNumber, text);
+        }
+        return text;
+    }
+
+    /**
+     * Position-sorted text of a named region of a page (0-based index), stripped
+     * on first access. The region name is part of the cache key, so callers must
+     * use a distinct name for each distinct rectangle.
+     */
+    public String getRegionText(int pageIndex, String regionName, Rectangle region) throws IOException {
+        String key = pageIndex + ":" + regionName;
+        String text = regionTextCache.get(key);
+        if (text == null) {
+            PDPage page = document.getPage(pageIndex);
+
+            PDFTextStripperByArea stripper = new PDFTextStripperByArea();
+            stripper.setSortByPosition(true);
+            stripper.addRegion(regionName, region);
+            stripper.extractRegions(page);
+
+            text = stripper.getTextForRegion(regionName);
+            regionTextCache.put(key, text);
+        }
+        return text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        document.close();
+    }
+}
@@ -1,19 +1,20 @@
 package com.example.dataExtractionTool.service;
 
 import com.example.dataExtractionTool.model.*;
+import com.example.dataExtractionTool.util.TableIndex;
+import com.example.dataExtractionTool.util.TableParser;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.stereotype.Service;
 import technology.tabula.*;
-import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
 
-import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -26,31 +27,29 @@ import java.util.regex.Pattern;
 public class PdfExtractionService {
 
     private final RemarksTextExtractor remarksTextExtractor;
-
-    public PdfExtractionService(RemarksTextExtractor remarksTextExtractor) {
+    private final TableDetectionService tableDetectionService;
+    private final ExtractionPlanCache extractionPlanCache;
+    private final ExtractionResultCache extractionResultCache;
+    private final ExtractionMetrics extractionMetrics;
+    private final ExtractionTraceRecorder traceRecorder;
+
+    public PdfExtractionService(RemarksTextExtractor remarksTextExtractor,
+            TableDetectionService tableDetectionService,
+            ExtractionPlanCache extractionPlanCache,
+            ExtractionResultCache extractionResultCache,
+            ExtractionMetrics extractionMetrics,
+            ExtractionTraceRecorder traceRecorder) {
         this.remarksTextExtractor = remarksTextExtractor;
+        this.tableDetectionService = tableDetectionService;
+        this.extractionPlanCache = extractionPlanCache;
+        this.extractionResultCache = extractionResultCache;
+        this.extractionMetrics = extractionMetrics;
+        this.traceRecorder = traceRecorder;
     }
 
-    // -- Constants for Field Labels --
+    // -- Constants for Field Labels (header labels are matched via ReportLabel) --
     private static final String LABEL_WELL_NAME = "Well Name";
-    private static final String LABEL_WELL_NO = "Well No";
     private static final String LABEL_WELL_NO_DOT = "Well No.";
-    private static final String LABEL_API_WELL_NO = "API well No.";
-    private static final String LABEL_API_WELL_NO_NO_DOT = "API well No";
-    private static final String LABEL_REPORT_NO = "Report No";
-    private static final String LABEL_REPORT_NO_DOT = "Report No.";
-    private static final String LABEL_REPORT_DATE = "Report date";
-    private static final String LABEL_REPORT_TIME = "Report time";
-    private static final String LABEL_SPUD_DATE = "Spud date";
-    private static final String LABEL_RIG = "Rig";
-    private static final String LABEL_ACTIVITY = "Activity";
-    private static final String LABEL_MD_FT = "MD(ft)";
-    private static final String LABEL_MD_FT_SPACED = "MD (ft)";
-    private static final String LABEL_TVD_FT = "TVD(ft)";
-    private static final String LABEL_TVD_FT_SPACED = "TVD (ft)";
-    private static final String LABEL_INC = "Inc";
-    private static final String LABEL_AZI = "AZI";
-    private static final String LABEL_AZI_LOWER = "Azi";
     private static final String LABEL_REMARKS = "REMARKS";
     private static final String LABEL_LOSS = "LOSS";
     private static final String LABEL_VOL_TRACK = "VOL. TRACK";
@@ -65,6 +64,13 @@ public class PdfExtractionService {
     private static final String DATA_FORMATION = "Formation";
     private static final String DATA_RETURNED = "Returned";
 
+    // Section anchors resolved once per main table by TableIndex
+    private static final List<String> SECTION_ANCHORS = List.of(HEADER_MUD_PROPERTIES, HEADER_MUD_SAMPLE_1,
+            LABEL_REMARKS, HEADER_LOSS_CUTTINGS, LABEL_LOSS, HEADER_VOL_START, LABEL_VOL_TRACK);
+
+    // Rows of the main table copied into a trace
+    private static final int TRACE_TABLE_ROWS = 10;
+
     // -- Regex Patterns --
     private static final Pattern PATTERN_WELL_NAME_1 = Pattern
             .compile("(?:Well Name(?:/No\\.?|/No|\\.| )?)\\s*[:~\\-]?\\s*(.*?)(?:\\r?\\n|$)", Pattern.CASE_INSENSITIVE);
@@ -74,93 +80,165 @@ public class PdfExtractionService {
     private static final Pattern PATTERN_WBM = Pattern.compile("(WBM Tanks.*?:\\s*(.+))");
 
     /**
-     * Main method to extract data from a PDF file using Tabula
+     * Main method to extract data from a PDF using Tabula. A PDF with the same
+     * content as an earlier one is answered from the result cache. The input is
+     * not closed here; its owner closes it.
      */
-    public PdfExtractionResult extractData(File pdfFile) {
-        PdfExtractionResult result = new PdfExtractionResult(pdfFile.getName());
-        result.setExtractionTimestamp(
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-
-        try (PDDocument document = PDDocument.load(pdfFile)) {
-
-            log.info("Extracting tables from PDF: {}", pdfFile.getName());
+    public PdfExtractionResult extractData(PdfInput input) {
+        return extractData(input, ExtractionOptions.DEFAULTS);
+    }
 
-            // Extract all tables from all pages using Tabula
-            @SuppressWarnings("resource")
-            ObjectExtractor extractor = new ObjectExtractor(document);
-            PageIterator pageIterator = extractor.extract();
+    /**
+     * Extract data with per-request options. When a trace id is given, or the
+     * extraction is sampled, the steps are recorded under that id. Requests for
+     * raw text bypass the result cache, whose entries are stored without it.
+     */
+    public PdfExtractionResult extractData(PdfInput input, ExtractionOptions options) {
+        ExtractionTrace trace = traceRecorder.start(input.getName(), options.getTraceId());
+
+        PdfExtractionResult cached = options.isRawText() ? null : extractionResultCache.getResult(input);
+        if (cached != null) {
+            log.debug("Using cached extraction result for {}", input.getName());
+            trace.event("cache", "Answered from the result cache");
+            traceRecorder.publish(trace, "cached");
+            return cached;
+        }
 
-            List<Table> allTables = new ArrayList<>();
-            StringBuilder rawText = new StringBuilder();
+        Timer.Sample loadSample = extractionMetrics.start();
+        try (PdfExtractionContext context = PdfExtractionContext.open(input)) {
+            extractionMetrics.stopDocumentLoad(loadSample);
+            PdfExtractionResult result = extractData(context, trace, options.isRawText());
+            if (!options.isRawText()) {
+                extractionResultCache.putResult(input, result);
+            }
+            traceRecorder.publish(trace, "extracted");
+            return result;
+        } catch (IOException e) {
+            log.error("Error extracting data from PDF: {}", e.getMessage(), e);
+            trace.event("load", "Failed: {}", e.getMessage());
+            traceRecorder.publish(trace, "failed");
+            PdfExtractionResult result = new PdfExtractionResult(input.getName());
+            result.setExtractionTimestamp(
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            result.setSuccess(false);
+            result.setErrorMessage(e.getMessage());
+            return result;
+        }
+    }
 
-            while (pageIterator.hasNext()) {
-                Page page = pageIterator.next();
+    /**
+     * Extract data from an already loaded PDF. Every stage reads the same parsed
+     * document and its cached text layers.
+     */
+    public PdfExtractionResult extractData(PdfExtractionContext context) {
+        return extractData(context, ExtractionTrace.DISABLED, false);
+    }
 
-                // Use SpreadsheetExtractionAlgorithm for better table detection
-                SpreadsheetExtractionAlgorithm sea = new SpreadsheetExtractionAlgorithm();
-                List<Table> tables = sea.extract(page);
+    private PdfExtractionResult extractData(PdfExtractionContext context, ExtractionTrace trace,
+            boolean renderRawText) {
+        PdfExtractionResult result = new PdfExtractionResult(context.getSourceName());
+        result.setExtractionTimestamp(
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
 
-                allTables.addAll(tables);
+        log.debug("Extracting tables from PDF: {}", context.getSourceName());
 
-                log.info("Extracted {} tables from page {}", tables.size(), page.getPageNumber());
-            }
+        // Extract all tables from all pages using Tabula (merged in page order)
+        List<Table> allTables = new ArrayList<>();
 
-            // extractor.close(); // Do not close here as it closes the PDDocument used
-            // later
+        for (PageTables pageTables : tableDetectionService.detectTables(context.getPages())) {
+            allTables.addAll(pageTables.getTables());
+        }
+        extractionMetrics.recordDocument(context.getPageCount(), allTables.size());
+        trace.event("tables", "Detected {} tables on {} pages", allTables.size(), context.getPageCount());
 
-            // Build raw text for debugging
+        // Raw text for debugging, only when asked for
+        if (renderRawText) {
+            StringBuilder rawText = new StringBuilder();
             for (Table table : allTables) {
                 rawText.append(tableToString(table)).append("\n\n");
             }
             result.setRawText(rawText.toString());
+        }
 
-            // Find the main data table (largest table with most rows)
-            Table mainTable = findMainTable(allTables);
-
-            if (mainTable != null) {
-                log.info("Processing main table with {} rows", mainTable.getRowCount());
+        // Find the main data table (largest table with most rows)
+        Table mainTable = findMainTable(allTables);
+        String templateId = ExtractionMetrics.NO_TEMPLATE;
+
+        if (mainTable != null) {
+            log.debug("Processing main table with {} rows", mainTable.getRowCount());
+
+            // Read every cell once; all section extractors work from this index
+            TableIndex mainIndex = indexSections(mainTable);
+            extractionMetrics.recordMainTableRows(mainIndex.getRowCount());
+            traceTableRows(mainIndex, trace);
+
+            // Process the main table to extract all sections
+            templateId = processMainTable(mainIndex, result, trace);
+
+            // Post-processing: If Well Name is still empty, search all tables
+            if (result.getWellHeader() != null &&
+                    (result.getWellHeader().getWellName() == null
+                            || result.getWellHeader().getWellName().isEmpty())) {
+                log.warn("Well Name not found in main table, searching all tables...");
+                trace.event("well_name", "Not found in main table, searching all tables");
+                Timer.Sample sample = extractionMetrics.start();
+                searchForWellNameInAllTables(allTables, mainTable, mainIndex, result.getWellHeader(), trace);
+                recordWellNameFallback(sample, ExtractionMetrics.WELL_NAME_ALL_TABLES, templateId,
+                        result.getWellHeader());
+            }
 
-                // Process the main table to extract all sections
-                processMainTable(mainTable, result);
+            // Final Fallback: If Well Name is STILL empty, use raw text extraction
+            if (result.getWellHeader() != null &&
+                    (result.getWellHeader().getWellName() == null
+                            || result.getWellHeader().getWellName().isEmpty())) {
+                log.warn("Well Name not found in tables, attempting raw text extraction...");
+                trace.event("well_name", "Not found in tables, attempting raw text extraction");
+                Timer.Sample sample = extractionMetrics.start();
+                extractWellNameFromRawText(context, result.getWellHeader(), trace);
+                recordWellNameFallback(sample, ExtractionMetrics.WELL_NAME_RAW_TEXT, templateId,
+                        result.getWellHeader());
+            }
+        } else {
+            log.warn("No main data table found");
+            trace.event("tables", "No main data table found");
+        }
 
-                // Post-processing: If Well Name is still empty, search all tables
-                if (result.getWellHeader() != null &&
-                        (result.getWellHeader().getWellName() == null
-                                || result.getWellHeader().getWellName().isEmpty())) {
-                    log.warn("Well Name not found in main table, searching all tables...");
-                    searchForWellNameInAllTables(allTables, result.getWellHeader());
-                }
+        // ENHANCED REMARKS EXTRACTION: Use OCR for better accuracy
+        extractRemarksUsingOCR(context, result, templateId, trace);
 
-                // Final Fallback: If Well Name is STILL empty, use raw text extraction
-                if (result.getWellHeader() != null &&
-                        (result.getWellHeader().getWellName() == null
-                                || result.getWellHeader().getWellName().isEmpty())) {
-                    log.warn("Well Name not found in tables, attempting raw text extraction...");
-                    extractWellNameFromRawText(document, result.getWellHeader());
-                }
-            } else {
-                log.warn("No main data table found");
-            }
+        result.setSuccess(true);
+        log.debug("Successfully extracted all data from PDF");
 
-            // ENHANCED REMARKS EXTRACTION: Use OCR for better accuracy
-            extractRemarksUsingOCR(document, pdfFile, result);
+        return result;
+    }
 
-            result.setSuccess(true);
-            log.info("Successfully extracted all data from PDF");
+    private void recordWellNameFallback(Timer.Sample sample, String path, String templateId,
+            WellHeader wellHeader) {
+        boolean found = wellHeader.getWellName() != null && !wellHeader.getWellName().isEmpty();
+        extractionMetrics.recordFallback(sample, path, templateId, found ? "found" : "not_found");
+    }
 
-        } catch (IOException e) {
-            log.error("Error extracting data from PDF: {}", e.getMessage(), e);
-            result.setSuccess(false);
-            result.setErrorMessage(e.getMessage());
+    /**
+     * Copy the first rows of the main table, cell by cell, into the trace
+     */
+    private void traceTableRows(TableIndex index, ExtractionTrace trace) {
+        if (!trace.isEnabled()) {
+            return;
+        }
+        trace.event("table", "Main table: {} rows", index.getRowCount());
+        for (int i = 0; i < Math.min(TRACE_TABLE_ROWS, index.getRowCount()); i++) {
+            StringBuilder row = new StringBuilder();
+            for (int col = 0; col < index.getColumnCount(i); col++) {
+                row.append("[").append(col).append("]=").append(index.getCell(i, col)).append(" | ");
+            }
+            trace.event("table", "Row {}: {}", i, row);
         }
-
-        return result;
     }
 
     /**
      * Find the main data table (usually the largest one)
      */
-    private Table findMainTable(List<Table> tables) {
+    Table findMainTable(List<Table> tables) {
         Table mainTable = null;
         int maxRows = 0;
 
@@ -177,64 +255,63 @@ public class PdfExtractionService {
     /**
      * Search all tables for Well Name if it wasn't found in the main table
      */
-    private void searchForWellNameInAllTables(List<Table> tables, WellHeader wellHeader) {
-        log.info("Searching {} tables for Well Name...", tables.size());
+    private void searchForWellNameInAllTables(List<Table> tables, Table mainTable, TableIndex mainIndex,
+            WellHeader wellHeader, ExtractionTrace trace) {
+        trace.event("well_name", "Searching {} tables for Well Name", tables.size());
 
         for (int tableIdx = 0; tableIdx < tables.size(); tableIdx++) {
             Table table = tables.get(tableIdx);
-            log.info("Searching table {} with {} rows", tableIdx, table.getRowCount());
-
-            for (int i = 0; i < Math.min(15, table.getRowCount()); i++) {
-                List<RectangularTextContainer> row = table.getRows().get(i);
-                String fullRowText = getRowText(row);
+            TableIndex index = table == mainTable ? mainIndex : TableIndex.build(table, List.of());
+            trace.event("well_name", "Searching table {} with {} rows", tableIdx, index.getRowCount());
 
-                for (int col = 0; col < row.size(); col++) {
-                    String cellText = getCellText(row, col).trim();
+            for (int i = 0; i < Math.min(15, index.getRowCount()); i++) {
+                for (int col = 0; col < index.getColumnCount(i); col++) {
+                    String cellText = index.getCell(i, col);
 
                     // Check for Well Name label with various patterns
                     // Fix: Exclude "API" to avoid matching "API well No."
-                    if ((cellText.toLowerCase().contains("well name") || cellText.toLowerCase().contains("well no"))
-                            && !cellText.toLowerCase().contains("api")) {
+                    long labels = ReportLabel.match(cellText);
+                    if ((ReportLabel.WELL_NAME.in(labels) || ReportLabel.WELL_NO.in(labels))
+                            && !ReportLabel.API.in(labels)) {
 
-                        log.info("Table {}, Row {}, Col {}: Found Well Name label: '{}'", tableIdx, i, col, cellText);
-                        log.info("Full row: {}", fullRowText);
+                        trace.event("well_name", "Table {}, Row {}, Col {}: Found Well Name label: '{}'",
+                                tableIdx, i, col, cellText);
+                        trace.event("well_name", "Full row: {}", index.getRowText(i));
 
                         // Try to extract value from adjacent cells
-                        String value = extractValueFromRow(row, col, false);
-                        log.info("Extracted value from adjacent cells: '{}'", value);
+                        String value = extractValueFromRow(index, i, col, false, trace);
+                        trace.event("well_name", "Extracted value from adjacent cells: '{}'", value);
 
                         // VALIDATION: If value looks like a header, ignore it
                         if (value.contains("Field") || value.contains("Block") || value.contains("Section")) {
-                            log.info("Ignoring header value '{}' for Well Name", value);
+                            trace.event("well_name", "Ignoring header value '{}' for Well Name", value);
                             value = "";
                         }
 
                         // If empty, try next row at same column
-                        if (value.isEmpty() && i + 1 < table.getRowCount()) {
-                            List<RectangularTextContainer> nextRow = table.getRows().get(i + 1);
-                            if (col < nextRow.size()) {
-                                String nextRowValue = getCellText(nextRow, col).trim();
-                                if (!nextRowValue.isEmpty()) {
-                                    value = nextRowValue;
-                                    log.info("Found value in NEXT row at same col: '{}'", value);
-                                }
+                        if (value.isEmpty() && i + 1 < index.getRowCount()) {
+                            String nextRowValue = index.getCell(i + 1, col);
+                            if (!nextRowValue.isEmpty()) {
+                                value = nextRowValue;
+                                trace.event("well_name", "Found value in NEXT row at same col: '{}'", value);
                             }
                         }
 
                         if (!value.isEmpty()) {
-                            log.info("✓ Found Well Name in table {}: '{}'", tableIdx, value);
+                            trace.event("well_name", "Found Well Name in table {}: '{}'", tableIdx, value);
                             wellHeader.setWellName(value);
                             return; // Found it, exit
                         } else {
                             // If adjacent cells are empty, search all cells in this row
-                            log.warn("Adjacent cells empty, searching all cells in row...");
-                            for (int c = 0; c < row.size(); c++) {
-                                String cellValue = getCellText(row, c).trim();
+                            trace.event("well_name", "Adjacent cells empty, searching all cells in row");
+                            for (int c = 0; c < index.getColumnCount(i); c++) {
+                                String cellValue = index.getCell(i, c);
                                 // Skip the label itself and empty cells
                                 if (!cellValue.isEmpty() && !cellValue.contains("Well Name") &&
                                         !cellValue.contains("Well No.") && !cellValue.contains("Report") &&
                                         cellValue.length() > 2) {
-                                    log.info("Found potential well name at col {}: '{}'", c, cellValue);
+                                    trace.event("well_name", "Found potential well name at col {}: '{}'", c,
+                                            cellValue);
                                     wellHeader.setWellName(cellValue);
                                     return;
                                 }
@@ -250,14 +327,12 @@ public class PdfExtractionService {
     /**
      * Extract Well Name from raw PDF text if table extraction fails
      */
-    private void extractWellNameFromRawText(PDDocument document, WellHeader wellHeader) {
+    private void extractWellNameFromRawText(PdfExtractionContext context, WellHeader wellHeader,
+            ExtractionTrace trace) {
         try {
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setStartPage(1);
-            stripper.setEndPage(1);
-            String text = stripper.getText(document);
+            String text = context.getPageText(1);
 
-            log.info("Raw text extraction from page 1:\n{}", text);
+            trace.event("well_name", "Raw text of page 1:\n{}", text);
 
             // Pattern 1: "Well Name/No: value" or "Well Name: value"
             Matcher m1 = PATTERN_WELL_NAME_1.matcher(text);
@@ -265,7 +340,7 @@ public class PdfExtractionService {
                 String value = m1.group(1).trim();
                 // Filter out common noise
                 if (!value.isEmpty() && !value.toLowerCase().contains("report") && value.length() > 2) {
-                    log.info("Found Well Name via raw text (Pattern 1): '{}'", value);
+                    trace.event("well_name", "Found Well Name via raw text (Pattern 1): '{}'", value);
                     wellHeader.setWellName(value);
                     return;
                 }
@@ -276,7 +351,7 @@ public class PdfExtractionService {
             if (m2.find()) {
                 String value = m2.group(1).trim();
                 if (!value.isEmpty() && !value.toLowerCase().contains("report") && value.length() > 2) {
-                    log.info("Found Well Name via raw text (Pattern 2): '{}'", value);
+                    trace.event("well_name", "Found Well Name via raw text (Pattern 2): '{}'", value);
                     wellHeader.setWellName(value);
                     return;
                 }
@@ -295,7 +370,8 @@ public class PdfExtractionService {
                         String nextLine = lines[i + 1].trim();
                         if (!nextLine.isEmpty() && !nextLine.toLowerCase().contains("report")
                                 && nextLine.length() > 2) {
-                            log.info("Found Well Name via raw text (Pattern 3 - next line): '{}'", nextLine);
+                            trace.event("well_name", "Found Well Name via raw text (Pattern 3 - next line): '{}'",
+                                    nextLine);
                             wellHeader.setWellName(nextLine);
                             return;
                         }
@@ -309,249 +385,520 @@ public class PdfExtractionService {
     }
 
     /**
-     * Process the main table to extract all sections
+     * Read every cell of the main table once, noting the section anchor rows
      */
-    private void processMainTable(Table table, PdfExtractionResult result) {
+    static TableIndex indexSections(Table mainTable) {
+        return TableIndex.build(mainTable, SECTION_ANCHORS);
+    }
+
+    /**
+     * Process the main table to extract all sections. Returns the template id
+     * of the layout plan, used to tag fallback metrics. Package-private for
+     * the section benchmarks.
+     */
+    String processMainTable(TableIndex index, PdfExtractionResult result, ExtractionTrace trace) {
+        // Reuse the layout plan of this report template, or discover the sections
+        Timer.Sample sample = extractionMetrics.start();
+        long fingerprint = ExtractionPlan.fingerprint(index, SECTION_ANCHORS);
+        ExtractionPlan plan = findPlan(index, fingerprint, trace);
+        Map<ExtractionPlan.Section, ExtractionPlan.SectionAnchor> sections = plan == null
+                ? discoverSections(index)
+                : null;
+        extractionMetrics.stop(sample, ExtractionMetrics.SECTION, "plan");
+
         // 0. Extract WELL HEADER (first priority - at the top of the table)
-        result.setWellHeader(extractWellHeaderFromTable(table));
+        sample = extractionMetrics.start();
+        if (plan != null) {
+            result.setWellHeader(replayWellHeader(index, plan, trace));
+        } else {
+            List<ExtractionPlan.HeaderCell> headerCells = new ArrayList<>();
+            result.setWellHeader(extractWellHeaderFromTable(index, headerCells, trace));
+            plan = new ExtractionPlan(fingerprint, sections, headerCells);
+            extractionPlanCache.put(plan);
+            trace.event("plan", "Discovered plan for template {}: sections {}, {} header labels",
+                    plan.getTemplateId(), sections.keySet(), headerCells.size());
+        }
+        extractionMetrics.stop(sample, ExtractionMetrics.SECTION, "well_header");
 
         // 1. Extract MUD PROPERTIES
-        int mudPropertiesRow = findRowWithText(table, HEADER_MUD_PROPERTIES);
+        int mudPropertiesRow = plan.getSectionRow(ExtractionPlan.Section.MUD_PROPERTIES, index);
         if (mudPropertiesRow != -1) {
-            result.setMudProperties(extractMudPropertiesFromTable(table, mudPropertiesRow));
-        } else {
-            mudPropertiesRow = findRowWithText(table, HEADER_MUD_SAMPLE_1);
-            if (mudPropertiesRow != -1) {
-                result.setMudProperties(extractMudPropertiesFromTable(table, mudPropertiesRow));
-            }
+            sample = extractionMetrics.start();
+            result.setMudProperties(extractMudPropertiesFromTable(index, mudPropertiesRow,
+                    plan.getSectionColumn(ExtractionPlan.Section.MUD_PROPERTIES)));
+            extractionMetrics.stop(sample, ExtractionMetrics.SECTION, "mud_properties");
         }
 
         // 2. Extract REMARKS
-        int remarksRow = findRowWithText(table, LABEL_REMARKS);
+        int remarksRow = plan.getSectionRow(ExtractionPlan.Section.REMARKS, index);
         if (remarksRow != -1) {
-            result.setRemark(extractRemarksFromTable(table, remarksRow));
+            sample = extractionMetrics.start();
+            result.setRemark(extractRemarksFromTable(index, remarksRow,
+                    plan.getSectionColumn(ExtractionPlan.Section.REMARKS), trace));
+            extractionMetrics.stop(sample, ExtractionMetrics.SECTION, "remarks");
         }
 
         // 3. Extract LOSS
-        int lossDataRow = findRowWithText(table, HEADER_LOSS_CUTTINGS);
-        if (lossDataRow != -1) {
-            result.setLosses(extractLossFromTable(table, lossDataRow));
-        } else {
-            int lossHeaderRow = findRowWithText(table, LABEL_LOSS);
-            if (lossHeaderRow != -1) {
-                result.setLosses(extractLossFromTable(table, lossHeaderRow + 1));
-            }
+        int lossRow = plan.getSectionRow(ExtractionPlan.Section.LOSS, index);
+        if (lossRow != -1) {
+            sample = extractionMetrics.start();
+            result.setLosses(extractLossFromTable(index, lossRow,
+                    plan.getSectionColumn(ExtractionPlan.Section.LOSS), plan.getTemplateId(), trace));
+            extractionMetrics.stop(sample, ExtractionMetrics.SECTION, "loss");
         }
 
         // 4. Extract VOL.TRACK
-        int volTrackDataRow = findRowWithText(table, HEADER_VOL_START);
-        if (volTrackDataRow != -1) {
-            result.setVolumeTracks(extractVolumeTrackFromTable(table, volTrackDataRow));
-        } else {
-            int volHeaderRow = findRowWithText(table, LABEL_VOL_TRACK);
-            if (volHeaderRow != -1) {
-                result.setVolumeTracks(extractVolumeTrackFromTable(table, volHeaderRow + 1));
-            }
+        int volTrackRow = plan.getSectionRow(ExtractionPlan.Section.VOL_TRACK, index);
+        if (volTrackRow != -1) {
+            sample = extractionMetrics.start();
+            result.setVolumeTracks(extractVolumeTrackFromTable(index, volTrackRow,
+                    plan.getSectionColumn(ExtractionPlan.Section.VOL_TRACK), plan.getTemplateId(), trace));
+            extractionMetrics.stop(sample, ExtractionMetrics.SECTION, "volume_track");
+        }
+
+        return plan.getTemplateId();
+    }
+
+    /**
+     * Look up the cached plan for the table's layout fingerprint, or null. A
+     * cached plan is validated against the table and dropped on mismatch.
+     */
+    private ExtractionPlan findPlan(TableIndex index, long fingerprint, ExtractionTrace trace) {
+        ExtractionPlan cached = extractionPlanCache.get(fingerprint);
+        if (cached == null) {
+            return null;
+        }
+        if (!isPlanValid(cached, index)) {
+            trace.event("plan", "Cached plan for template {} no longer matches", cached.getTemplateId());
+            extractionPlanCache.invalidate(fingerprint);
+            return null;
         }
+        log.debug("Reusing extraction plan for template {}", cached.getTemplateId());
+        trace.event("plan", "Reusing extraction plan for template {}", cached.getTemplateId());
+        return cached;
     }
 
     /**
-     * Helper to find a row containing specific text
+     * Check a cached plan against the table by looking only at the planned
+     * cells: every section anchor must be found and its column must still hold
+     * the section header, and every header label must still read as its field
      */
-    private int findRowWithText(Table table, String text) {
-        for (int i = 0; i < table.getRowCount(); i++) {
-            String rowText = getRowText(table.getRows().get(i));
-            if (rowText.contains(text)) {
-                return i;
+    private boolean isPlanValid(ExtractionPlan plan, TableIndex index) {
+        for (ExtractionPlan.Section section : ExtractionPlan.Section.values()) {
+            if (plan.getSection(section) == null) {
+                continue;
+            }
+            int row = plan.getSectionRow(section, index);
+            if (row == -1) {
+                return false;
+            }
+            int col = plan.getSectionColumn(section);
+            if (col != ExtractionPlan.UNRESOLVED
+                    && (row >= index.getRowCount() || !isSectionHeader(section, index.getCell(row, col)))) {
+                return false;
             }
         }
-        return -1;
+
+        boolean wellNameFound = false;
+        for (ExtractionPlan.HeaderCell cell : plan.getHeaderCells()) {
+            if (cell.getLabelRow() >= index.getRowCount()) {
+                return false;
+            }
+            String cellText = index.getCell(cell.getLabelRow(), cell.getLabelColumn());
+            if (headerField(ReportLabel.match(cellText), cellText, wellNameFound) != cell.getField()) {
+                return false;
+            }
+            wellNameFound |= cell.getField() == ExtractionPlan.HeaderField.WELL_NAME;
+        }
+        return true;
+    }
+
+    /**
+     * Find the anchor of each section and the column it is read from. Mud
+     * properties fall back to "Sample 1", loss and vol. track to the row
+     * below their section label.
+     */
+    private Map<ExtractionPlan.Section, ExtractionPlan.SectionAnchor> discoverSections(TableIndex index) {
+        Map<ExtractionPlan.Section, ExtractionPlan.SectionAnchor> sections = new EnumMap<>(ExtractionPlan.Section.class);
+        addSection(sections, index, ExtractionPlan.Section.MUD_PROPERTIES, HEADER_MUD_PROPERTIES, 0);
+        addSection(sections, index, ExtractionPlan.Section.MUD_PROPERTIES, HEADER_MUD_SAMPLE_1, 0);
+        addSection(sections, index, ExtractionPlan.Section.REMARKS, LABEL_REMARKS, 0);
+        addSection(sections, index, ExtractionPlan.Section.LOSS, HEADER_LOSS_CUTTINGS, 0);
+        addSection(sections, index, ExtractionPlan.Section.LOSS, LABEL_LOSS, 1);
+        addSection(sections, index, ExtractionPlan.Section.VOL_TRACK, HEADER_VOL_START, 0);
+        addSection(sections, index, ExtractionPlan.Section.VOL_TRACK, LABEL_VOL_TRACK, 1);
+        return sections;
+    }
+
+    private void addSection(Map<ExtractionPlan.Section, ExtractionPlan.SectionAnchor> sections, TableIndex index,
+            ExtractionPlan.Section section, String anchor, int rowOffset) {
+        int anchorRow = index.findRowWithText(anchor);
+        if (sections.containsKey(section) || anchorRow == -1) {
+            return;
+        }
+        int row = anchorRow + rowOffset;
+        int col;
+        switch (section) {
+            case MUD_PROPERTIES:
+                col = findPropertiesColumn(index, row);
+                break;
+            case REMARKS:
+                col = findRemarksHeaderColumn(index, row);
+                break;
+            case LOSS:
+                col = findLossColumn(index, row);
+                break;
+            default:
+                col = findVolTrackColumn(index, row);
+                break;
+        }
+        sections.put(section, new ExtractionPlan.SectionAnchor(anchor, rowOffset, col));
+    }
+
+    private boolean isSectionHeader(ExtractionPlan.Section section, String cellText) {
+        switch (section) {
+            case MUD_PROPERTIES:
+                return isPropertiesHeader(cellText);
+            case REMARKS:
+                return isRemarksHeader(cellText);
+            case LOSS:
+                return cellText.contains(HEADER_LOSS_CUTTINGS);
+            default:
+                return cellText.contains(HEADER_VOL_START);
+        }
     }
 
     /**
      * Extract Well Header information from the table
-     * The well header is typically at the top of the PDF
+     * The well header is typically at the top of the PDF. Every label found is
+     * added to headerCells along with the cell its value was read from.
      */
-    private WellHeader extractWellHeaderFromTable(Table table) {
+    private WellHeader extractWellHeaderFromTable(TableIndex index, List<ExtractionPlan.HeaderCell> headerCells,
+            ExtractionTrace trace) {
         WellHeader wellHeader = new WellHeader();
+        boolean wellNameFound = false;
 
-        // Search the first 25 rows for well header information
-        int searchLimit = Math.min(25, table.getRowCount());
+        // Search first 25 rows for header information
+        int searchLimit = Math.min(ExtractionPlan.HEADER_ROWS, index.getRowCount());
+        for (int i = 0; i < searchLimit; i++) {
+            for (int col = 0; col < index.getColumnCount(i); col++) {
+                String cellText = index.getCell(i, col);
+
+                // Classify the cell against every label in one scan
+                long labels = ReportLabel.match(cellText);
+                if (labels == 0L)
+                    continue;
 
-        // DEBUG: Print the first 10 rows of the table to see the structure
-        log.info("========== TABLE STRUCTURE DEBUG (First 10 rows) ==========");
-        for (int i = 0; i < Math.min(10, table.getRowCount()); i++) {
-            List<RectangularTextContainer> row = table.getRows().get(i);
-            StringBuilder rowDebug = new StringBuilder("Row " + i + ": ");
-            for (int col = 0; col < row.size(); col++) {
-                rowDebug.append("[").append(col).append("]=").append(getCellText(row, col)).append(" | ");
+                ExtractionPlan.HeaderField field = headerField(labels, cellText, wellNameFound);
+                if (field == null)
+                    continue;
+                wellNameFound |= field == ExtractionPlan.HeaderField.WELL_NAME;
+
+                ExtractionPlan.HeaderCell cell = locateHeaderValue(index, field, i, col, trace);
+                headerCells.add(cell);
+                setHeaderValue(wellHeader, index, cell, trace);
             }
-            log.info(rowDebug.toString());
         }
-        log.info("========== END TABLE STRUCTURE DEBUG ==========");
 
-        // First pass: Extract all fields
-        for (int i = 0; i < searchLimit; i++) {
-            List<RectangularTextContainer> row = table.getRows().get(i);
-            String fullRowText = getRowText(row);
-
-            // Scan each cell in the row to find field labels
-            for (int col = 0; col < row.size(); col++) {
-                String cellText = getCellText(row, col).trim();
-
-                // Check for each field and extract the value from the next cell
-                // Check Well Name first (before other fields)
-                // Fix: Case insensitive check and check next row
-                // Fix: Exclude "API" to avoid false positive on "API well No."
-                if ((cellText.toLowerCase().contains(LABEL_WELL_NAME.toLowerCase())
-                        || cellText.toLowerCase().contains(LABEL_WELL_NO.toLowerCase()))
-                        && !cellText.toLowerCase().contains("api")
-                        && wellHeader.getWellName() == null) {
-
-                    // Try same row first
-                    String value = extractValueFromRow(row, col, false);
-
-                    // VALIDATION: If value looks like a header, ignore it
-                    if (value.contains("Field") || value.contains("Block") || value.contains("Section")) {
-                        log.info("Ignoring header value '{}' for Well Name", value);
-                        value = "";
-                    }
+        return wellHeader;
+    }
 
-                    // If empty, try next row at same column (common in this file)
-                    if (value.isEmpty() && i + 1 < table.getRowCount()) {
-                        List<RectangularTextContainer> nextRow = table.getRows().get(i + 1);
-                        if (col < nextRow.size()) {
-                            String nextRowValue = getCellText(nextRow, col).trim();
-                            if (!nextRowValue.isEmpty()) {
-                                value = nextRowValue;
-                                log.info("Found value in NEXT row at same col: '{}'", value);
-                            }
-                        }
-                    }
+    /**
+     * Read the well header from the label and value cells of a plan. A planned
+     * value cell that no longer holds an acceptable value, e.g. because the
+     * value was blank in the report the plan was made from, is looked up from
+     * its label as in discovery.
+     */
+    private WellHeader replayWellHeader(TableIndex index, ExtractionPlan plan, ExtractionTrace trace) {
+        WellHeader wellHeader = new WellHeader();
+        for (ExtractionPlan.HeaderCell planned : plan.getHeaderCells()) {
+            ExtractionPlan.HeaderCell cell = isPlannedValue(index, planned)
+                    ? planned
+                    : locateHeaderValue(index, planned.getField(), planned.getLabelRow(),
+                            planned.getLabelColumn(), trace);
+            setHeaderValue(wellHeader, index, cell, trace);
+        }
+        return wellHeader;
+    }
 
-                    log.info("Row {}: Found 'Well Name/No.' label at col {}, extracted value: '{}'", i, col, value);
-                    log.info("Full row content: {}", fullRowText);
-                    wellHeader.setWellName(value);
-                } else if (cellText.contains(LABEL_REPORT_NO_DOT) || cellText.equals(LABEL_REPORT_NO)) {
-                    String value = extractValueFromRow(row, col, false);
-                    wellHeader.setReportNo(value);
-                    log.info("Found Report No: {}", value);
-                } else if (cellText.contains(LABEL_REPORT_DATE) || cellText.equals(LABEL_REPORT_DATE)) {
-                    String value = extractValueFromRow(row, col, false);
-                    wellHeader.setReportDate(value);
-                    log.info("Found Report Date: {}", value);
-                } else if (cellText.contains(LABEL_REPORT_TIME) || cellText.equals(LABEL_REPORT_TIME)) {
-                    String value = extractValueFromRow(row, col, false);
-                    wellHeader.setReportTime(value);
-                    log.info("Found Report Time: {}", value);
-                } else if (cellText.contains(LABEL_SPUD_DATE) || cellText.equals(LABEL_SPUD_DATE)) {
-                    String value = extractValueFromRow(row, col, false);
-                    wellHeader.setSpudDate(value);
-                    log.info("Found Spud Date: {}", value);
-                } else if (cellText.equals(LABEL_RIG)
-                        || (cellText.contains(LABEL_RIG) && !cellText.contains(LABEL_ACTIVITY)
-                                && !cellText.contains("Walk"))) {
-                    String value = extractValueFromRow(row, col, false);
-                    wellHeader.setRig(value);
-                    log.info("Found Rig: {}", value);
-                } else if (cellText.contains(LABEL_ACTIVITY)) {
-                    String value = extractValueFromRow(row, col, false);
-                    wellHeader.setActivity(value);
-                    log.info("Found Activity: {}", value);
-                } else if ((cellText.equals(LABEL_MD_FT) || cellText.equals(LABEL_MD_FT_SPACED))
-                        && (wellHeader.getMd() == null || wellHeader.getMd().isEmpty())) {
-                    // For MD, we want a numeric value only
-                    String value = extractValueFromRow(row, col, true);
-                    log.info("Row {}: Found 'MD(ft)' label at col {}, extracted value: '{}'", i, col, value);
-                    log.info("Full row content: {}", fullRowText);
-
-                    // If we got "0" or empty, try to find a better value in the same row
-                    if (value.isEmpty() || value.equals("0")) {
-                        log.warn("MD value is '{}', searching entire row for numeric value", value);
-                        value = findNumericValueInRow(row, col);
-                        log.info("After full row search, MD value: '{}'", value);
-                    }
-                    // Only set if we found a valid non-zero value
-                    if (!value.isEmpty() && !value.equals("0")) {
-                        wellHeader.setMd(value);
-                        log.info("Set MD to: {}", value);
-                    }
-                } else if (cellText.equals(LABEL_TVD_FT) || cellText.equals(LABEL_TVD_FT_SPACED)) {
-                    String value = extractValueFromRow(row, col, true);
-                    wellHeader.setTvd(value);
-                    log.info("Found TVD: {}", value);
-                } else if (cellText.contains(LABEL_INC) && cellText.contains("deg")) {
-                    String value = extractValueFromRow(row, col, true);
-                    wellHeader.setInc(value);
-                    log.info("Found Inc: {}", value);
-                } else if ((cellText.contains(LABEL_AZI) || cellText.contains(LABEL_AZI_LOWER))
-                        && (cellText.contains("deg") || cellText.contains("("))
-                        && (wellHeader.getAzi() == null || wellHeader.getAzi().isEmpty())) {
-                    String value = extractValueFromRow(row, col, true);
-                    log.info("Row {}: Found 'AZI (deg)' label at col {}, extracted value: '{}'", i, col, value);
-                    log.info("Full row content: {}", fullRowText);
-
-                    // If we got empty, try to find a numeric value in the same row
-                    if (value.isEmpty()) {
-                        log.warn("AZI value is empty, searching entire row for numeric value");
-                        value = findNumericValueInRow(row, col);
-                        log.info("After full row search, AZI value: '{}'", value);
-                    }
-                    // Only set if we found a valid value
-                    if (!value.isEmpty()) {
-                        wellHeader.setAzi(value);
-                        log.info("Set AZI to: {}", value);
-                    }
-                } else if (cellText.contains(LABEL_API_WELL_NO) || cellText.contains(LABEL_API_WELL_NO_NO_DOT)) {
-                    String value = extractValueFromRow(row, col, false);
-                    wellHeader.setApiWellNo(value);
-                    log.info("Found API Well No: {}", value);
+    /**
+     * Which header field a label cell names, or null
+     */
+    private ExtractionPlan.HeaderField headerField(long labels, String cellText, boolean wellNameFound) {
+        // Check Well Name first (before other fields)
+        // Fix: Case insensitive check and check next row
+        // Fix: Exclude "API" to avoid false positive on "API well No."
+        if ((ReportLabel.WELL_NAME.in(labels) || ReportLabel.WELL_NO.in(labels))
+                && !ReportLabel.API.in(labels)
+                && !wellNameFound) {
+            return ExtractionPlan.HeaderField.WELL_NAME;
+        } else if (ReportLabel.REPORT_NO_DOT.in(labels) || ReportLabel.REPORT_NO.isExactly(labels, cellText)) {
+            return ExtractionPlan.HeaderField.REPORT_NO;
+        } else if (ReportLabel.REPORT_DATE.in(labels)) {
+            return ExtractionPlan.HeaderField.REPORT_DATE;
+        } else if (ReportLabel.REPORT_TIME.in(labels)) {
+            return ExtractionPlan.HeaderField.REPORT_TIME;
+        } else if (ReportLabel.SPUD_DATE.in(labels)) {
+            return ExtractionPlan.HeaderField.SPUD_DATE;
+        } else if (ReportLabel.RIG.isExactly(labels, cellText)
+                || (ReportLabel.RIG.in(labels) && !ReportLabel.ACTIVITY.in(labels)
+                        && !ReportLabel.WALK.in(labels))) {
+            return ExtractionPlan.HeaderField.RIG;
+        } else if (ReportLabel.ACTIVITY.in(labels)) {
+            return ExtractionPlan.HeaderField.ACTIVITY;
+        } else if (ReportLabel.MD_FT.isExactly(labels, cellText)
+                || ReportLabel.MD_FT_SPACED.isExactly(labels, cellText)) {
+            return ExtractionPlan.HeaderField.MD;
+        } else if (ReportLabel.TVD_FT.isExactly(labels, cellText)
+                || ReportLabel.TVD_FT_SPACED.isExactly(labels, cellText)) {
+            return ExtractionPlan.HeaderField.TVD;
+        } else if (ReportLabel.INC.in(labels) && ReportLabel.DEG.in(labels)) {
+            return ExtractionPlan.HeaderField.INC;
+        } else if ((ReportLabel.AZI.in(labels) || ReportLabel.AZI_LOWER.in(labels))
+                && (ReportLabel.DEG.in(labels) || ReportLabel.OPEN_PAREN.in(labels))) {
+            return ExtractionPlan.HeaderField.AZI;
+        } else if (ReportLabel.API_WELL_NO.in(labels) || ReportLabel.API_WELL_NO_NO_DOT.in(labels)) {
+            return ExtractionPlan.HeaderField.API_WELL_NO;
+        }
+        return null;
+    }
+
+    /**
+     * Find the cell holding the value of a header label
+     */
+    private ExtractionPlan.HeaderCell locateHeaderValue(TableIndex index, ExtractionPlan.HeaderField field,
+            int row, int col, ExtractionTrace trace) {
+        int valueRow = row;
+        int valueCol;
+        switch (field) {
+            case WELL_NAME:
+                // Try same row first
+                valueCol = findValueColumn(index, row, col, false, trace);
+
+                // VALIDATION: If value looks like a header, ignore it
+                if (valueCol != ExtractionPlan.UNRESOLVED && isHeaderTitle(index.getCell(row, valueCol))) {
+                    trace.event("header", "Ignoring header value '{}' for Well Name", index.getCell(row, valueCol));
+                    valueCol = ExtractionPlan.UNRESOLVED;
                 }
-            }
+
+                // If empty, try next row at same column (common in this file)
+                if (valueCol == ExtractionPlan.UNRESOLVED && row + 1 < index.getRowCount()
+                        && !index.getCell(row + 1, col).isEmpty()) {
+                    valueRow = row + 1;
+                    valueCol = col;
+                    trace.event("header", "Found value in NEXT row at same col: '{}'", index.getCell(valueRow, col));
+                }
+                break;
+            case MD:
+                // For MD, we want a numeric value only
+                valueCol = findValueColumn(index, row, col, true, trace);
+
+                // If we got "0" or empty, try to find a better value in the same row
+                if (valueCol == ExtractionPlan.UNRESOLVED || index.getCell(row, valueCol).equals("0")) {
+                    valueCol = findNumericColumnInRow(index, row, col, trace);
+                }
+                break;
+            case AZI:
+                valueCol = findValueColumn(index, row, col, true, trace);
+
+                // If we got empty, try to find a numeric value in the same row
+                if (valueCol == ExtractionPlan.UNRESOLVED) {
+                    valueCol = findNumericColumnInRow(index, row, col, trace);
+                }
+                break;
+            case TVD:
+            case INC:
+                valueCol = findValueColumn(index, row, col, true, trace);
+                break;
+            default:
+                valueCol = findValueColumn(index, row, col, false, trace);
+                break;
         }
+        return new ExtractionPlan.HeaderCell(field, row, col, valueRow, valueCol);
+    }
 
-        return wellHeader;
+    /**
+     * Whether the planned value cell of a header label holds a value that
+     * discovery would accept
+     */
+    private boolean isPlannedValue(TableIndex index, ExtractionPlan.HeaderCell cell) {
+        if (cell.getValueColumn() == ExtractionPlan.UNRESOLVED || cell.getValueRow() >= index.getRowCount()) {
+            return false;
+        }
+        String value = index.getCell(cell.getValueRow(), cell.getValueColumn());
+        if (value.isEmpty()) {
+            return false;
+        }
+        if (cell.getValueRow() != cell.getLabelRow()) {
+            // Well Name read from the next row
+            return true;
+        }
+        if (isSkippedValue(value)) {
+            return false;
+        }
+
+        boolean adjacent = cell.getValueColumn() - cell.getLabelColumn() <= 6;
+        switch (cell.getField()) {
+            case MD:
+                if (value.equals("0")) {
+                    return false;
+                }
+                return adjacent ? TableParser.isNumericCell(value) : TableParser.isNumericText(value);
+            case AZI:
+                return adjacent ? TableParser.isNumericCell(value) : TableParser.isNumericText(value);
+            case TVD:
+            case INC:
+                return TableParser.isNumericCell(value);
+            case WELL_NAME:
+                return !isHeaderTitle(value) && isTextValue(value);
+            default:
+                return isTextValue(value);
+        }
+    }
+
+    /**
+     * Set the header field of a label from its value cell
+     */
+    private void setHeaderValue(WellHeader wellHeader, TableIndex index, ExtractionPlan.HeaderCell cell,
+            ExtractionTrace trace) {
+        String value = cell.getValueColumn() != ExtractionPlan.UNRESOLVED
+                ? index.getCell(cell.getValueRow(), cell.getValueColumn())
+                : "";
+        switch (cell.getField()) {
+            case WELL_NAME:
+                trace.event("header", "Row {}: Found 'Well Name/No.' label at col {}, extracted value: '{}'",
+                        cell.getLabelRow(), cell.getLabelColumn(), value);
+                wellHeader.setWellName(value);
+                break;
+            case REPORT_NO:
+                wellHeader.setReportNo(value);
+                trace.event("header", "Found Report No: {}", value);
+                break;
+            case REPORT_DATE:
+                wellHeader.setReportDate(value);
+                trace.event("header", "Found Report Date: {}", value);
+                break;
+            case REPORT_TIME:
+                wellHeader.setReportTime(value);
+                trace.event("header", "Found Report Time: {}", value);
+                break;
+            case SPUD_DATE:
+                wellHeader.setSpudDate(value);
+                trace.event("header", "Found Spud Date: {}", value);
+                break;
+            case RIG:
+                wellHeader.setRig(value);
+                trace.event("header", "Found Rig: {}", value);
+                break;
+            case ACTIVITY:
+                wellHeader.setActivity(value);
+                trace.event("header", "Found Activity: {}", value);
+                break;
+            case MD:
+                trace.event("header", "Row {}: Found 'MD(ft)' label at col {}, extracted value: '{}'",
+                        cell.getLabelRow(), cell.getLabelColumn(), value);
+                // Only set the first valid non-zero value
+                if ((wellHeader.getMd() == null || wellHeader.getMd().isEmpty())
+                        && !value.isEmpty() && !value.equals("0")) {
+                    wellHeader.setMd(value);
+                }
+                break;
+            case TVD:
+                wellHeader.setTvd(value);
+                trace.event("header", "Found TVD: {}", value);
+                break;
+            case INC:
+                wellHeader.setInc(value);
+                trace.event("header", "Found Inc: {}", value);
+                break;
+            case AZI:
+                trace.event("header", "Row {}: Found 'AZI (deg)' label at col {}, extracted value: '{}'",
+                        cell.getLabelRow(), cell.getLabelColumn(), value);
+                // Only set the first valid value
+                if ((wellHeader.getAzi() == null || wellHeader.getAzi().isEmpty()) && !value.isEmpty()) {
+                    wellHeader.setAzi(value);
+                }
+                break;
+            default:
+                wellHeader.setApiWellNo(value);
+                trace.event("header", "Found API Well No: {}", value);
+                break;
+        }
+    }
+
+    private boolean isHeaderTitle(String value) {
+        return value.contains("Field") || value.contains("Block") || value.contains("Section");
+    }
+
+    private boolean isSkippedValue(String value) {
+        return value.equals(":") || value.equals("(ft)") || value.equals("(deg)");
+    }
+
+    private boolean isTextValue(String value) {
+        return !value.contains("(") || value.length() > 5;
     }
 
     /**
      * Search for a numeric value in the entire row, skipping the label column
+     *
+     * @return The column of the value, or -1
      */
-    private String findNumericValueInRow(List<RectangularTextContainer> row, int labelColIndex) {
-        for (int col = labelColIndex + 1; col < row.size(); col++) {
-            String value = getCellText(row, col).trim();
+    private int findNumericColumnInRow(TableIndex index, int rowIndex, int labelColIndex,
+            ExtractionTrace trace) {
+        for (int col = labelColIndex + 1; col < index.getColumnCount(rowIndex); col++) {
+            String value = index.getCell(rowIndex, col);
             // Look for numeric values (digits, commas, decimals, slashes)
-            if (value.matches("[0-9,./\\s-]+") && !value.isEmpty()) {
-                log.info("Found numeric value '{}' at column {}", value, col);
-                return value;
+            if (TableParser.isNumericText(value)) {
+                trace.event("header", "Found numeric value '{}' at column {}", value, col);
+                return col;
             }
         }
-        return "";
+        return ExtractionPlan.UNRESOLVED;
     }
 
     /**
      * Extract value from the cell next to the current column
-     * 
-     * @param row           The row to extract from
+     *
+     * @param index         The indexed table to extract from
+     * @param rowIndex      The row to extract from
      * @param labelColIndex The column index of the label
      * @param numericOnly   If true, only accept numeric values (for MD, TVD, Inc,
      *                      AZI)
+     * @param trace         Receives the cells that were considered
      * @return The extracted value
      */
-    private String extractValueFromRow(List<RectangularTextContainer> row, int labelColIndex, boolean numericOnly) {
-        // Log all cells to the right for debugging
-        StringBuilder debugCells = new StringBuilder("Cells to the right: ");
-        for (int offset = 1; offset <= Math.min(6, row.size() - labelColIndex - 1); offset++) {
-            debugCells.append("[").append(offset).append("]='").append(getCellText(row, labelColIndex + offset))
-                    .append("' ");
+    private String extractValueFromRow(TableIndex index, int rowIndex, int labelColIndex, boolean numericOnly,
+            ExtractionTrace trace) {
+        int col = findValueColumn(index, rowIndex, labelColIndex, numericOnly, trace);
+        return col != ExtractionPlan.UNRESOLVED ? index.getCell(rowIndex, col) : "";
+    }
+
+    /**
+     * Find the cell next to the current column holding the value, see
+     * {@link #extractValueFromRow}
+     *
+     * @return The column of the value, or -1
+     */
+    private int findValueColumn(TableIndex index, int rowIndex, int labelColIndex, boolean numericOnly,
+            ExtractionTrace trace) {
+        int rowSize = index.getColumnCount(rowIndex);
+
+        // Record all cells to the right
+        if (trace.isEnabled()) {
+            StringBuilder cells = new StringBuilder();
+            for (int offset = 1; offset <= Math.min(6, rowSize - labelColIndex - 1); offset++) {
+                cells.append("[").append(offset).append("]='").append(index.getCell(rowIndex, labelColIndex + offset))
+                        .append("' ");
+            }
+            trace.event("cells", "Row {}, right of col {}: {}", rowIndex, labelColIndex, cells);
         }
-        log.debug(debugCells.toString());
 
         // Search up to 6 cells to the right (expanded from 4)
-        for (int offset = 1; offset <= Math.min(6, row.size() - labelColIndex - 1); offset++) {
-            String value = getCellText(row, labelColIndex + offset).trim();
+        for (int offset = 1; offset <= Math.min(6, rowSize - labelColIndex - 1); offset++) {
+            String value = index.getCell(rowIndex, labelColIndex + offset);
 
             // Skip empty values, units in parentheses, and colons
-            if (value.isEmpty() || value.equals(":") || value.equals("(ft)") || value.equals("(deg)")) {
+            if (value.isEmpty() || isSkippedValue(value)) {
                 continue;
             }
 
@@ -560,19 +907,18 @@ public class PdfExtractionService {
                 // Accept if it's purely numeric or contains digits with allowed characters
                 // (comma, decimal, slash)
                 // Reject if it's purely alphabetic or contains parentheses
-                if (value.matches("[0-9,./\\s-]+") || (value.matches(".*\\d+.*") && !value.matches(".*[A-Za-z].*"))) {
-                    log.debug("Accepting numeric value: '{}'", value);
-                    return value;
+                if (TableParser.isNumericCell(value)) {
+                    return labelColIndex + offset;
                 }
             } else {
                 // For non-numeric fields, accept any non-empty value that's not just a unit
-                if (!value.contains("(") || value.length() > 5) {
-                    return value;
+                if (isTextValue(value)) {
+                    return labelColIndex + offset;
                 }
             }
         }
 
-        return "";
+        return ExtractionPlan.UNRESOLVED;
     }
 
     /**
@@ -581,47 +927,40 @@ public class PdfExtractionService {
     /**
      * Extract MUD PROPERTIES from the table
      */
-    private List<MudProperty> extractMudPropertiesFromTable(Table table, int startRow) {
+    private List<MudProperty> extractMudPropertiesFromTable(TableIndex index, int startRow, int plannedCol) {
         List<MudProperty> mudProperties = new ArrayList<>();
 
-        int propertiesColIndex = -1;
-        List<RectangularTextContainer> headerRow = table.getRows().get(startRow);
-
-        for (int col = 0; col < headerRow.size(); col++) {
-            String cellText = getCellText(headerRow, col);
-            if (cellText.contains(HEADER_MUD_PROPERTIES) || cellText.contains(KEYWORD_SAMPLE)) {
-                propertiesColIndex = col;
-                break;
-            }
-        }
+        int propertiesColIndex = plannedCol != ExtractionPlan.UNRESOLVED
+                ? plannedCol
+                : findPropertiesColumn(index, startRow);
 
         if (propertiesColIndex == -1)
             propertiesColIndex = 0;
 
-        for (int i = startRow + 1; i < table.getRowCount(); i++) {
-            List<RectangularTextContainer> row = table.getRows().get(i);
-            String rowText = getRowText(row);
+        for (int i = startRow + 1; i < index.getRowCount(); i++) {
+            String rowText = index.getRowText(i);
+            int rowSize = index.getColumnCount(i);
 
-            if (rowText.contains(LABEL_REMARKS) || rowText.contains("ANNULAR") || rowText.trim().isEmpty()) {
+            if ((ReportLabel.match(rowText) & ReportLabel.MUD_PROPERTIES_END) != 0L || rowText.trim().isEmpty()) {
                 break;
             }
 
-            if (row.size() > propertiesColIndex) {
+            if (rowSize > propertiesColIndex) {
                 MudProperty property = new MudProperty();
-                String propertyName = getCellText(row, propertiesColIndex);
+                String propertyName = index.getCell(i, propertiesColIndex);
 
                 if (propertyName.trim().isEmpty() || propertyName.contains(HEADER_MUD_PROPERTIES))
                     continue;
 
                 property.setPropertyName(propertyName);
-                if (row.size() > propertiesColIndex + 1)
-                    property.setSample1(getCellText(row, propertiesColIndex + 1));
-                if (row.size() > propertiesColIndex + 2)
-                    property.setSample2(getCellText(row, propertiesColIndex + 2));
-                if (row.size() > propertiesColIndex + 3)
-                    property.setSample3(getCellText(row, propertiesColIndex + 3));
-                if (row.size() > propertiesColIndex + 4)
-                    property.setSample4(getCellText(row, propertiesColIndex + 4));
+                if (rowSize > propertiesColIndex + 1)
+                    property.setSample1(index.getCell(i, propertiesColIndex + 1));
+                if (rowSize > propertiesColIndex + 2)
+                    property.setSample2(index.getCell(i, propertiesColIndex + 2));
+                if (rowSize > propertiesColIndex + 3)
+                    property.setSample3(index.getCell(i, propertiesColIndex + 3));
+                if (rowSize > propertiesColIndex + 4)
+                    property.setSample4(index.getCell(i, propertiesColIndex + 4));
 
                 mudProperties.add(property);
             }
@@ -629,35 +968,42 @@ public class PdfExtractionService {
         return mudProperties;
     }
 
+    private int findPropertiesColumn(TableIndex index, int startRow) {
+        for (int col = 0; col < index.getColumnCount(startRow); col++) {
+            if (isPropertiesHeader(index.getCell(startRow, col))) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isPropertiesHeader(String cellText) {
+        return cellText.contains(HEADER_MUD_PROPERTIES) || cellText.contains(KEYWORD_SAMPLE);
+    }
+
     /**
      * Extract REMARKS section
      */
-    private Remark extractRemarksFromTable(Table table, int headerRowIndex) {
+    private Remark extractRemarksFromTable(TableIndex index, int headerRowIndex, int plannedCol,
+            ExtractionTrace trace) {
         Remark remark = new Remark();
         StringBuilder remarkText = new StringBuilder();
 
-        int remarksColIndex = -1;
-        List<RectangularTextContainer> headerRow = table.getRows().get(headerRowIndex);
+        int headerRowSize = index.getColumnCount(headerRowIndex);
 
         // 1. Find REMARKS header column
-        for (int col = 0; col < headerRow.size(); col++) {
-            String cellText = getCellText(headerRow, col);
-            if (cellText.contains("REMARKS") && !cellText.contains("RECOMMENDED")) {
-                remarksColIndex = col;
-                log.info("Found REMARKS header at column {}", col);
-                break;
-            }
-        }
+        int remarksColIndex = plannedCol != ExtractionPlan.UNRESOLVED
+                ? plannedCol
+                : findRemarksHeaderColumn(index, headerRowIndex);
 
         // 2. Fallback: Look for content anchors if header not found
         if (remarksColIndex == -1) {
-            for (int i = headerRowIndex + 1; i < Math.min(headerRowIndex + 5, table.getRowCount()); i++) {
-                List<RectangularTextContainer> row = table.getRows().get(i);
-                for (int col = 0; col < row.size(); col++) {
-                    String cellText = getCellText(row, col);
+            for (int i = headerRowIndex + 1; i < Math.min(headerRowIndex + 5, index.getRowCount()); i++) {
+                for (int col = 0; col < index.getColumnCount(i); col++) {
+                    String cellText = index.getCell(i, col);
                     if (cellText.contains("Run production casing") || cellText.contains("Circulate casing")) {
                         remarksColIndex = col;
-                        log.info("Found REMARKS column via content anchor at index {}", col);
+                        trace.event("remarks", "Found REMARKS column via content anchor at index {}", col);
                         break;
                     }
                 }
@@ -668,28 +1014,26 @@ public class PdfExtractionService {
 
         if (remarksColIndex == -1) {
             // Last resort: Assume it's in the right half of the table
-            if (!headerRow.isEmpty()) {
-                remarksColIndex = headerRow.size() / 2;
+            if (headerRowSize > 0) {
+                remarksColIndex = headerRowSize / 2;
                 log.warn("Could not find REMARKS column, defaulting to middle column index {}", remarksColIndex);
+                trace.event("remarks", "No REMARKS column, defaulting to middle column index {}", remarksColIndex);
             } else {
                 return remark;
             }
         }
 
         // 3. Scan rows
-        for (int i = headerRowIndex + 1; i < Math.min(headerRowIndex + 30, table.getRowCount()); i++) {
-            List<RectangularTextContainer> row = table.getRows().get(i);
-
+        for (int i = headerRowIndex + 1; i < Math.min(headerRowIndex + 30, index.getRowCount()); i++) {
             // Stop if we hit the next section
-            String rowText = getRowText(row);
-            if (rowText.contains("ADDITION") || rowText.contains("LOSS") || rowText.contains("VOL. TRACK")) {
+            if ((ReportLabel.match(index.getRowText(i)) & ReportLabel.REMARKS_END) != 0L) {
                 break;
             }
 
             // SCAN RIGHT: Concatenate text from remarksColIndex to the end of the row
             StringBuilder rowContentBuilder = new StringBuilder();
-            for (int col = remarksColIndex; col < row.size(); col++) {
-                String cellText = getCellText(row, col);
+            for (int col = remarksColIndex; col < index.getColumnCount(i); col++) {
+                String cellText = index.getCell(i, col);
                 if (!cellText.isEmpty()) {
                     if (rowContentBuilder.length() > 0)
                         rowContentBuilder.append(" ");
@@ -772,16 +1116,16 @@ public class PdfExtractionService {
      * Extract remarks using text extraction for enhanced accuracy
      * This method uses the RemarksTextExtractor to get better quality remarks data
      */
-    private void extractRemarksUsingOCR(PDDocument document, File pdfFile, PdfExtractionResult result) {
+    private void extractRemarksUsingOCR(PdfExtractionContext context, PdfExtractionResult result,
+            String templateId, ExtractionTrace trace) {
         try {
-            log.info("Attempting text-based remarks extraction...");
 
             // Extract using text extraction
-            String ocrRemarks = remarksTextExtractor.extractRemarks(pdfFile);
+            Timer.Sample sample = extractionMetrics.start();
+            String ocrRemarks = remarksTextExtractor.extractRemarks(context);
+            long textNanos = extractionMetrics.stop(sample, ExtractionMetrics.REMARKS_TEXT, "all");
 
             if (ocrRemarks != null && !ocrRemarks.trim().isEmpty()) {
-                log.info("Text extraction successful. Extracted {} characters", ocrRemarks.length());
-
                 // Get existing table-based remarks
                 String tableRemarks = "";
                 if (result.getRemark() != null && result.getRemark().getRemarkText() != null) {
@@ -791,7 +1135,7 @@ public class PdfExtractionService {
                 // Compare and use the better extraction (longer content usually means better
                 // extraction)
                 if (ocrRemarks.length() > tableRemarks.length()) {
-                    log.info(
+                    trace.event("remarks",
                             "Text extraction is better (Text: {} chars vs Table: {} chars). Using text extraction result.",
                             ocrRemarks.length(), tableRemarks.length());
 
@@ -799,13 +1143,20 @@ public class PdfExtractionService {
                         result.setRemark(new Remark());
                     }
                     result.getRemark().setRemarkText(ocrRemarks);
+                    extractionMetrics.recordFallback(ExtractionMetrics.REMARKS_TEXT_VS_TABLE, templateId,
+                            "text", textNanos);
                 } else {
-                    log.info(
+                    trace.event("remarks",
                             "Table extraction is better or equal (OCR: {} chars vs Table: {} chars). Keeping table result.",
                             ocrRemarks.length(), tableRemarks.length());
+                    extractionMetrics.recordFallback(ExtractionMetrics.REMARKS_TEXT_VS_TABLE, templateId,
+                            "table", textNanos);
                 }
             } else {
-                log.warn("OCR extraction returned empty result");
+                log.debug("OCR extraction returned empty result");
+                trace.event("remarks", "Text extraction returned no remarks");
+                extractionMetrics.recordFallback(ExtractionMetrics.REMARKS_TEXT_VS_TABLE, templateId,
+                        "empty", textNanos);
             }
 
         } catch (Exception e) {
@@ -814,26 +1165,33 @@ public class PdfExtractionService {
         }
     }
 
+    private int findRemarksHeaderColumn(TableIndex index, int headerRowIndex) {
+        for (int col = 0; col < index.getColumnCount(headerRowIndex); col++) {
+            if (isRemarksHeader(index.getCell(headerRowIndex, col))) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isRemarksHeader(String cellText) {
+        long labels = ReportLabel.match(cellText);
+        return ReportLabel.REMARKS.in(labels) && !ReportLabel.RECOMMENDED.in(labels);
+    }
+
     /**
      * Extract LOSS(bbl) table using Anchor Data Row
      */
     /**
      * Extract LOSS(bbl) table using Anchor Data Row
      */
-    private List<Loss> extractLossFromTable(Table table, int startRowIndex) {
+    private List<Loss> extractLossFromTable(TableIndex index, int startRowIndex, int plannedCol,
+            String templateId, ExtractionTrace trace) {
         List<Loss> losses = new ArrayList<>();
 
-        int lossCategoryColIndex = -1;
-        List<RectangularTextContainer> startRow = table.getRows().get(startRowIndex);
-
-        for (int col = 0; col < startRow.size(); col++) {
-            String cellText = getCellText(startRow, col);
-            if (cellText.contains(HEADER_LOSS_CUTTINGS)) {
-                lossCategoryColIndex = col;
-                log.info("Found LOSS Category column at index {} (via anchor)", col);
-                break;
-            }
-        }
+        int lossCategoryColIndex = plannedCol != ExtractionPlan.UNRESOLVED
+                ? plannedCol
+                : findLossColumn(index, startRowIndex);
 
         if (lossCategoryColIndex == -1) {
             log.warn("Could not find LOSS anchor column");
@@ -841,19 +1199,18 @@ public class PdfExtractionService {
         }
 
         // Extract data
-        for (int i = startRowIndex; i < Math.min(startRowIndex + 30, table.getRowCount()); i++) {
-            List<RectangularTextContainer> row = table.getRows().get(i);
-            String rowText = getRowText(row);
+        for (int i = startRowIndex; i < Math.min(startRowIndex + 30, index.getRowCount()); i++) {
+            String rowText = index.getRowText(i);
 
             // SPECIAL CASE: Row containing "ANNULAR HYDRAULICS"
             // This row often contains "Formation" (LOSS) and "Returned" (VOL.TRACK)
             if (rowText.contains(HEADER_ANNULAR_HYDRAULICS)) {
                 // Search specifically for "Formation" in this row
-                for (RectangularTextContainer cell : row) {
-                    if (cell.getText().trim().equals(DATA_FORMATION)) {
+                for (int col = 0; col < index.getColumnCount(i); col++) {
+                    if (index.getCell(i, col).equals(DATA_FORMATION)) {
                         Loss loss = Loss.builder().category(DATA_FORMATION).value("").build();
                         losses.add(loss);
-                        log.info("Found Formation in ANNULAR HYDRAULICS row");
+                        trace.event("loss", "Found Formation in ANNULAR HYDRAULICS row {}", i);
                         break;
                     }
                 }
@@ -861,21 +1218,18 @@ public class PdfExtractionService {
             }
 
             // SMART COLUMN READING
-            String category = getSmartCellText(row, lossCategoryColIndex);
+            String category = getSmartCellText(index, i, lossCategoryColIndex, templateId);
             String value = "";
-            if (row.size() > lossCategoryColIndex + 1) {
-                value = getCellText(row, lossCategoryColIndex + 1);
+            if (index.getColumnCount(i) > lossCategoryColIndex + 1) {
+                value = index.getCell(i, lossCategoryColIndex + 1);
             }
 
-            if (category.trim().isEmpty() || category.contains(LABEL_LOSS) || category.contains("bbl"))
+            long labels = ReportLabel.match(category);
+            if (category.trim().isEmpty() || ReportLabel.LOSS.in(labels) || ReportLabel.BBL.in(labels))
                 continue;
 
             // STRICT STOP CONDITIONS
-            if (category.contains("Rig-up") || category.contains("LGS") ||
-                    category.contains("HGS") || category.contains("OBM chemicals") ||
-                    category.contains("SOLIDS") || category.contains("BIT") ||
-                    category.contains("TIME") || category.contains("Drilling") ||
-                    category.contains("Circulating")) {
+            if ((labels & ReportLabel.LOSS_END) != 0L) {
                 break;
             }
 
@@ -886,26 +1240,28 @@ public class PdfExtractionService {
         return losses;
     }
 
+    private int findLossColumn(TableIndex index, int startRowIndex) {
+        for (int col = 0; col < index.getColumnCount(startRowIndex); col++) {
+            if (index.getCell(startRowIndex, col).contains(HEADER_LOSS_CUTTINGS)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Extract VOL.TRACK(bbl) table using Anchor Data Row
      */
     /**
      * Extract VOL.TRACK(bbl) table using Anchor Data Row
      */
-    private List<VolumeTrack> extractVolumeTrackFromTable(Table table, int startRowIndex) {
+    private List<VolumeTrack> extractVolumeTrackFromTable(TableIndex index, int startRowIndex, int plannedCol,
+            String templateId, ExtractionTrace trace) {
         List<VolumeTrack> volumeTracks = new ArrayList<>();
 
-        int volCategoryColIndex = -1;
-        List<RectangularTextContainer> startRow = table.getRows().get(startRowIndex);
-
-        for (int col = 0; col < startRow.size(); col++) {
-            String cellText = getCellText(startRow, col);
-            if (cellText.contains(HEADER_VOL_START)) {
-                volCategoryColIndex = col;
-                log.info("Found VOL.TRACK Category column at index {} (via anchor)", col);
-                break;
-            }
-        }
+        int volCategoryColIndex = plannedCol != ExtractionPlan.UNRESOLVED
+                ? plannedCol
+                : findVolTrackColumn(index, startRowIndex);
 
         if (volCategoryColIndex == -1) {
             log.warn("Could not find VOL.TRACK anchor column");
@@ -913,19 +1269,18 @@ public class PdfExtractionService {
         }
 
         // Extract data
-        for (int i = startRowIndex; i < Math.min(startRowIndex + 30, table.getRowCount()); i++) {
-            List<RectangularTextContainer> row = table.getRows().get(i);
-            String rowText = getRowText(row);
+        for (int i = startRowIndex; i < Math.min(startRowIndex + 30, index.getRowCount()); i++) {
+            String rowText = index.getRowText(i);
 
             // SPECIAL CASE: Row containing "ANNULAR HYDRAULICS"
             // This row often contains "Returned" (VOL.TRACK)
             if (rowText.contains(HEADER_ANNULAR_HYDRAULICS)) {
                 // Search specifically for "Returned" in this row
-                for (RectangularTextContainer cell : row) {
-                    if (cell.getText().trim().equals(DATA_RETURNED)) {
+                for (int col = 0; col < index.getColumnCount(i); col++) {
+                    if (index.getCell(i, col).equals(DATA_RETURNED)) {
                         VolumeTrack vt = VolumeTrack.builder().category(DATA_RETURNED).value("").build();
                         volumeTracks.add(vt);
-                        log.info("Found Returned in ANNULAR HYDRAULICS row");
+                        trace.event("volume_track", "Found Returned in ANNULAR HYDRAULICS row {}", i);
                         break;
                     }
                 }
@@ -933,17 +1288,18 @@ public class PdfExtractionService {
             }
 
             // SMART COLUMN READING
-            String category = getSmartCellText(row, volCategoryColIndex);
+            String category = getSmartCellText(index, i, volCategoryColIndex, templateId);
             String value = "";
-            if (row.size() > volCategoryColIndex + 1) {
-                value = getCellText(row, volCategoryColIndex + 1);
+            if (index.getColumnCount(i) > volCategoryColIndex + 1) {
+                value = index.getCell(i, volCategoryColIndex + 1);
             }
 
-            if (category.trim().isEmpty() || category.contains("VOL") || category.contains("TRACK"))
+            long labels = ReportLabel.match(category);
+            if (category.trim().isEmpty() || ReportLabel.VOL.in(labels) || ReportLabel.TRACK.in(labels))
                 continue;
 
             // Stop if we hit unrelated data
-            if (category.contains("TIME") || category.contains("DISTRIBUTION"))
+            if ((labels & ReportLabel.VOL_TRACK_END) != 0L)
                 break;
 
             VolumeTrack volumeTrack = VolumeTrack.builder().category(category.trim()).value(value.trim()).build();
@@ -953,48 +1309,45 @@ public class PdfExtractionService {
         return volumeTracks;
     }
 
+    private int findVolTrackColumn(TableIndex index, int startRowIndex) {
+        for (int col = 0; col < index.getColumnCount(startRowIndex); col++) {
+            if (index.getCell(startRowIndex, col).contains(HEADER_VOL_START)) {
+                return col;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Smart cell text retrieval: Checks the target column, then left, then right
      */
-    private String getSmartCellText(List<RectangularTextContainer> row, int targetColIndex) {
-        String text = getCellText(row, targetColIndex);
+    private String getSmartCellText(TableIndex index, int rowIndex, int targetColIndex, String templateId) {
+        String text = index.getCell(rowIndex, targetColIndex);
         if (!text.isEmpty())
             return text;
 
         // Check left
         if (targetColIndex > 0) {
-            text = getCellText(row, targetColIndex - 1);
-            if (!text.isEmpty())
+            text = index.getCell(rowIndex, targetColIndex - 1);
+            if (!text.isEmpty()) {
+                extractionMetrics.countProbe(ExtractionMetrics.SMART_CELL_NEIGHBOUR, templateId, "left");
                 return text;
+            }
         }
 
         // Check right
-        if (targetColIndex < row.size() - 1) {
-            text = getCellText(row, targetColIndex + 1);
-            if (!text.isEmpty())
+        if (targetColIndex < index.getColumnCount(rowIndex) - 1) {
+            text = index.getCell(rowIndex, targetColIndex + 1);
+            if (!text.isEmpty()) {
+                extractionMetrics.countProbe(ExtractionMetrics.SMART_CELL_NEIGHBOUR, templateId, "right");
                 return text;
+            }
         }
 
+        extractionMetrics.countProbe(ExtractionMetrics.SMART_CELL_NEIGHBOUR, templateId, "empty");
         return "";
     }
 
-    private String getCellText(List<RectangularTextContainer> row, int columnIndex) {
-        if (columnIndex < row.size()) {
-            return row.get(columnIndex).getText().trim();
-        }
-        return "";
-    }
-
-    private String getRowText(List<RectangularTextContainer> row) {
-        StringBuilder sb = new StringBuilder();
-        for (RectangularTextContainer cell : row) {
-            if (sb.length() > 0)
-                sb.append(" ");
-            sb.append(cell.getText().trim());
-        }
-        return sb.toString();
-    }
-
     private String tableToString(Table table) {
         StringBuilder sb = new StringBuilder();
         sb.append("Table with ").append(table.getRowCount()).append(" rows:\n");
@@ -0,0 +1,118 @@
+package com.example.dataExtractionTool.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Source bytes of one PDF to extract, either held in memory or as a file.
+ *
+ * An input created from an upload owns its file and deletes it on
+ * {@link #close()}, so callers only need a try-with-resources block to
+ * guarantee cleanup. An input wrapping a caller's file never deletes it.
+ */
+public final class PdfInput implements Closeable {
+
+    private final String name;
+    private final byte[] bytes;
+    private final Path path;
+    private final boolean ownsPath;
+
+    private String sha256;
+
+    private PdfInput(String name, byte[] bytes, Path path, boolean ownsPath) {
+        this.name = name;
+        this.bytes = bytes;
+        this.path = path;
+        this.ownsPath = ownsPath;
+    }
+
+    /**
+     * In-memory PDF; PDFBox parses the array directly
+     */
+    public static PdfInput ofBytes(String name, byte[] bytes) {
+        return new PdfInput(name, bytes, null, false);
+    }
+
+    /**
+     * Existing file owned by the caller; it is not deleted on close
+     */
+    public static PdfInput ofFile(File file) {
+        return new PdfInput(file.getName(), null, file.toPath(), false);
+    }
+
+    /**
+     * File handed over to this input; it is deleted on close
+     */
+    public static PdfInput ofOwnedFile(String name, Path path) {
+        return new PdfInput(name, null, path, true);
+    }
+
+    /**
+     * Parse the PDF. The caller closes the returned document.
+     */
+    public PDDocument load() throws IOException {
+        return bytes != null ? PDDocument.load(bytes) : PDDocument.load(path.toFile());
+    }
+
+    /**
+     * Original file name, used as the source name of the extraction
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Hex SHA-256 of the PDF bytes, computed on first use
+     */
+    public String sha256() throws IOException {
+        if (sha256 == null) {
+            MessageDigest digest = newSha256();
+            if (bytes != null) {
+                digest.update(bytes);
+            } else {
+                try (InputStream in = Files.newInputStream(path)) {
+                    byte[] buffer = new byte[64 * 1024];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        }
+        return sha256;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isInMemory() {
+        return bytes != null;
+    }
+
+    public long getSize() throws IOException {
+        return bytes != null ? bytes.length : Files.size(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownsPath) {
+            Files.deleteIfExists(path);
+        }
+    }
+}
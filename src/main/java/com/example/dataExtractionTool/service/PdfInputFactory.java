@@ -0,0 +1,66 @@
+package com.example.dataExtractionTool.service;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Turns uploads into {@link PdfInput}s without copying them through an extra
+ * temp file.
+ *
+ * Uploads up to the in-memory threshold are read into a byte array once and
+ * parsed from memory. Larger uploads are transferred into a file owned by the
+ * input: when the servlet container has already spooled the part to disk this
+ * is a rename, not a copy.
+ */
+@Slf4j
+@Component
+public class PdfInputFactory {
+
+    private final long inMemoryThresholdBytes;
+    private final ExtractionMetrics extractionMetrics;
+
+    public PdfInputFactory(@Value("${pdf.upload.in-memory-threshold:2MB}") DataSize inMemoryThreshold,
+            ExtractionMetrics extractionMetrics) {
+        this.inMemoryThresholdBytes = inMemoryThreshold.toBytes();
+        this.extractionMetrics = extractionMetrics;
+    }
+
+    /**
+     * Take over an upload. The returned input stays valid after the request
+     * ends and must be closed by the caller.
+     */
+    public PdfInput fromUpload(MultipartFile file) throws IOException {
+        String name = file.getOriginalFilename();
+        Timer.Sample sample = extractionMetrics.start();
+
+        if (file.getSize() <= inMemoryThresholdBytes) {
+            PdfInput input = PdfInput.ofBytes(name, file.getBytes());
+            extractionMetrics.stop(sample, ExtractionMetrics.UPLOAD_SPOOL, "memory");
+            return input;
+        }
+
+        Path target = Files.createTempFile("upload_", ".pdf");
+        try {
+            // The File overload delegates to Part.write, which moves a spooled part
+            file.transferTo(target.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        extractionMetrics.stop(sample, ExtractionMetrics.UPLOAD_SPOOL, "disk");
+        log.debug("Spooled upload {} ({} bytes) to {}", name, file.getSize(), target);
+        return PdfInput.ofOwnedFile(name, target);
+    }
+
+    public long getInMemoryThresholdBytes() {
+        return inMemoryThresholdBytes;
+    }
+}
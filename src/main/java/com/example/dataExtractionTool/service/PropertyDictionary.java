@@ -0,0 +1,239 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.dto.MudReportDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Mud property names compiled to what the exports make of them: the key in
+ * the unified format and the MudReportDTO field, if any.
+ *
+ * The labels of the known report templates are compiled at startup. Any other
+ * name is compiled the first time it is seen and remembered, up to a limit,
+ * so a table row costs one hash lookup instead of a chain of string tests.
+ */
+@Component
+public class PropertyDictionary {
+
+    /**
+     * MudReportDTO fields filled from mud properties, with their setters
+     */
+    public enum Field {
+        MUD_WEIGHT(MudReportDTO::setMudWeight),
+        DEPTH(MudReportDTO::setDepth),
+        GELS_10_MIN(MudReportDTO::setGels10Min),
+        GELS_10_SEC(MudReportDTO::setGels10Sec),
+        GELS_30_MIN(MudReportDTO::setGels30Min),
+        PERCENT_WATER(MudReportDTO::setPercentWater),
+        PERCENT_OIL(MudReportDTO::setPercentOil),
+        PLASTIC_VISCOSITY(MudReportDTO::setPlasticViscosity),
+        VISCOSITY_FUNNEL(MudReportDTO::setViscosityFunnel),
+        YIELD_POINT(MudReportDTO::setYieldPoint),
+        PERCENT_HIGH_GRAVITY_SOLIDS(MudReportDTO::setPercentHighGravitySolids),
+        PERCENT_LOW_GRAVITY_SOLIDS(MudReportDTO::setPercentLowGravitySolids),
+        PH_VALUE(MudReportDTO::setPhValue),
+        CHLORIDES_CONC(MudReportDTO::setChloridesConc),
+        ELECTRO_STATIC_STABILITY(MudReportDTO::setElectroStaticStability),
+        // Both apiWaterLoss and hthpWaterLoss are set from HTHP filtrate
+        HTHP_FILTRATE((dto, value) -> {
+            dto.setApiWaterLoss(value);
+            dto.setHthpWaterLoss(value);
+        }),
+        FILTER_CAKE_HTHP(MudReportDTO::setFilterCakeHthp),
+        FILTER_CAKE_LTLP(MudReportDTO::setFilterCakeLtlp);
+
+        private final BiConsumer<MudReportDTO, Float> setter;
+
+        Field(BiConsumer<MudReportDTO, Float> setter) {
+            this.setter = setter;
+        }
+
+        public void set(MudReportDTO dto, Float value) {
+            setter.accept(dto, value);
+        }
+    }
+
+    /**
+     * What one property name means to the exports
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Entry {
+
+        /** Key in the unified format */
+        private final String exportKey;
+        /** MudReportDTO field, or null when the DTO has none */
+        private final Field field;
+    }
+
+    /**
+     * Property labels of the report templates seen so far
+     */
+    static final List<String> REPORT_LABELS = List.of(
+            "Sample from", "Time sample taken", "Flowline T. (F)", "Depth (ft)", "MW (ppg)",
+            "Funnel visc. (sec/qt)", "T. for PV (F)", "PV (cP)", "YP (lbf/100ft2)", "600/300/200", "100/6/3",
+            "Gel str. (10sec) (lbf/100ft2)", "Gel str. (10min) (lbf/100ft2)", "Gel str. (30min) (lbf/100ft2)",
+            "API filtrate (ml/30min)", "API cake thickness (1/32in)", "T. for HTHP (F)",
+            "HTHP filtrate (ml/30min)", "HTHP cake thickness (1/32in)", "Solids (%)", "Oil (%)", "Water (%)",
+            "Oil/water ratio", "Sand content (%)", "MBT capacity (lb/bbl)", "pH", "Mud alkalinity (Pm) (ml)",
+            "Alkalinity mud (pom) (cc/cc)", "Filtrate alkalinity (Pf) (ml)", "Filtrate alkalinity (Mf) (ml)",
+            "Chlorides (mg/L)", "Chlorides whole mud (mg/L)", "Make up water: Chlorides (mg/L)",
+            "Total hardness (mg/L)", "Calcium (mg/L)", "K+ (mg/L)", "Excess lime (lb/bbl)", "CaCl2 (mg/L)",
+            "CaCl2 wt. (%)", "WPS (ppm)", "Salt content water phase (%)", "Water activity (Aw)",
+            "Brine density (ppg)", "Electrical stability (Volt)", "Solids adjusted for salt (%)",
+            "Coarse LCM (lb/bbl)", "Fine LCM (lb/bbl)");
+
+    // Mapping of Field Labels to Desired JSON Keys
+    private static final Map<String, String> EXPORT_KEYS = new HashMap<>();
+    static {
+        // Unified exports have always keyed HTHP filtrate as apiWaterLoss
+        EXPORT_KEYS.put("HTHP filtrate (ml/30min)", "apiWaterLoss");
+        EXPORT_KEYS.put("Chlorides whole mud (mg/L)", "Chlorides");
+        EXPORT_KEYS.put("Chlorides (mg/L)", "chlorides");
+        EXPORT_KEYS.put("Funnel visc. (sec/qt)", "funnelViscosity");
+        EXPORT_KEYS.put("Solids adjusted for salt (%)", "lowGravitySolids");
+        EXPORT_KEYS.put("MW (ppg)", "mudWeight");
+        EXPORT_KEYS.put("Alkalinity mud (pom) (cc/cc)", "phValue");
+        EXPORT_KEYS.put("Oil (%)", "percentOil");
+        EXPORT_KEYS.put("Water (%)", "percentWater");
+        EXPORT_KEYS.put("PV (cP)", "plasticViscosity");
+        EXPORT_KEYS.put("YP (lbf/100ft2)", "yieldPoint");
+        EXPORT_KEYS.put("Gel str. (10sec) (lbf/100ft2)", "gels10Sec");
+        EXPORT_KEYS.put("Gel str. (10min) (lbf/100ft2)", "gels10Min");
+        EXPORT_KEYS.put("Gel str. (30min) (lbf/100ft2)", "gels30Min");
+        EXPORT_KEYS.put("Depth (ft)", "depth");
+    }
+
+    private static final Entry UNNAMED = new Entry("unknown", null);
+
+    // Keyed by the trimmed name
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public PropertyDictionary(@Value("${pdf.mapping.dictionary.max-entries:1024}") int maxEntries) {
+        this.maxEntries = Math.max(REPORT_LABELS.size(), maxEntries);
+        for (String label : REPORT_LABELS) {
+            entries.put(label, compile(label));
+        }
+    }
+
+    /**
+     * Entry for a property name, compiled on first sight. Names beyond the
+     * limit are compiled every time rather than remembered.
+     */
+    public Entry lookup(String propertyName) {
+        if (propertyName == null) {
+            return UNNAMED;
+        }
+        String name = propertyName.trim();
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = compile(name);
+            if (entries.size() < maxEntries) {
+                entries.putIfAbsent(name, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static Entry compile(String name) {
+        return new Entry(exportKey(name), field(name));
+    }
+
+    private static String exportKey(String name) {
+        // Check exact mapping
+        String key = EXPORT_KEYS.get(name);
+        if (key != null) {
+            return key;
+        }
+
+        // Check partial match for Gel strength if exact failed
+        if (name.startsWith("Gel str. (10sec)"))
+            return "gels10Sec";
+        if (name.startsWith("Gel str. (10min)"))
+            return "gels10Min";
+        if (name.startsWith("Gel str. (30min)"))
+            return "gels30Min";
+
+        // Fallback: Convert to camelCase
+        return toCamelCase(name);
+    }
+
+    private static String toCamelCase(String input) {
+        StringBuilder result = new StringBuilder();
+        boolean nextUpper = false;
+        boolean first = true;
+
+        for (char c : input.toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                if (first) {
+                    result.append(Character.toLowerCase(c));
+                    first = false;
+                } else if (nextUpper) {
+                    result.append(Character.toUpperCase(c));
+                    nextUpper = false;
+                } else {
+                    result.append(c);
+                }
+            } else {
+                nextUpper = true;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * DTO field for a property name; the first matching rule wins
+     */
+    private static Field field(String name) {
+        if (name.contains("MW") && name.contains("ppg")) {
+            return Field.MUD_WEIGHT;
+        } else if (name.contains("Depth") && name.contains("ft")) {
+            return Field.DEPTH;
+        } else if (name.contains("Gel str.") && name.contains("10min")) {
+            return Field.GELS_10_MIN;
+        } else if (name.contains("Gel str.") && name.contains("10sec")) {
+            return Field.GELS_10_SEC;
+        } else if (name.contains("Gel str.") && name.contains("30min")) {
+            return Field.GELS_30_MIN;
+        } else if (name.contains("Water") && name.contains("%")) {
+            return Field.PERCENT_WATER;
+        } else if (name.contains("Oil") && name.contains("%")) {
+            return Field.PERCENT_OIL;
+        } else if (name.contains("PV") && name.contains("cP")) {
+            return Field.PLASTIC_VISCOSITY;
+        } else if (name.contains("Funnel visc")) {
+            return Field.VISCOSITY_FUNNEL;
+        } else if (name.contains("YP") && name.contains("lbf")) {
+            return Field.YIELD_POINT;
+        } else if (name.contains("High gravity solids")) {
+            return Field.PERCENT_HIGH_GRAVITY_SOLIDS;
+        } else if (name.contains("Low gravity solids") ||
+                (name.contains("Solids") && name.contains("adjusted"))) {
+            return Field.PERCENT_LOW_GRAVITY_SOLIDS;
+        } else if (name.contains("pH") ||
+                (name.contains("Alkalinity") && name.contains("mud"))) {
+            return Field.PH_VALUE;
+        } else if (name.contains("Chlorides")) {
+            return Field.CHLORIDES_CONC;
+        } else if (name.contains("Electrostatic") || name.contains("ESS") ||
+                name.contains("Electrical")) {
+            return Field.ELECTRO_STATIC_STABILITY;
+        } else if (name.contains("HTHP") && name.contains("filtrate")) {
+            return Field.HTHP_FILTRATE;
+        } else if (name.contains("Filter cake") && name.contains("HTHP")) {
+            return Field.FILTER_CAKE_HTHP;
+        } else if (name.contains("Filter cake") && name.contains("LTLP")) {
+            return Field.FILTER_CAKE_LTLP;
+        }
+        return null;
+    }
+}
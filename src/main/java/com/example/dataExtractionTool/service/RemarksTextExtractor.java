@@ -4,13 +4,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.text.PDFTextStripperByArea;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.awt.Rectangle;
 import java.io.File;
-import java.io.IOException;
 
 /**
  * Extracts REMARKS from Daily Mud Report PDFs
@@ -38,7 +36,27 @@ public class RemarksTextExtractor {
             return EMPTY;
         }
 
-        try (PDDocument document = PDDocument.load(pdfFile)) {
+        try (PdfExtractionContext context = PdfExtractionContext.open(PdfInput.ofFile(pdfFile))) {
+            return extractRemarks(context);
+        } catch (Exception e) {
+            log.error("Failed to extract remarks", e);
+            return EMPTY;
+        }
+    }
+
+    /**
+     * Extract remarks from a document that is already loaded, reusing its
+     * cached text layers
+     */
+    public String extractRemarks(PdfExtractionContext context) {
+
+        if (!extractionEnabled) {
+            return EMPTY;
+        }
+
+        try {
+
+            PDDocument document = context.getDocument();
 
             if (document.getNumberOfPages() == 0) {
                 return EMPTY;
@@ -60,13 +78,7 @@ public class RemarksTextExtractor {
                     (int) pageHeight
             );
 
-            PDFTextStripperByArea stripper = new PDFTextStripperByArea();
-            stripper.setSortByPosition(true);
-            stripper.addRegion(REGION_RIGHT, rightHalf);
-
-            stripper.extractRegions(page);
-
-            String rightText = stripper.getTextForRegion(REGION_RIGHT);
+            String rightText = context.getRegionText(0, REGION_RIGHT, rightHalf);
 
             return extractRemarksFromRightSide(rightText);
 
@@ -0,0 +1,140 @@
+package com.example.dataExtractionTool.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Report date and time strings turned into epoch millis, the same way for
+ * mapping and export.
+ *
+ * Formatters are compiled once. Parsed dates and times are remembered, since
+ * every report of a day carries the same strings; when the memo is full it is
+ * cleared and refilled with what is seen next. The wall-clock time of a report
+ * is read in the zone of its rig: a configured rig name, or the longest
+ * configured prefix of it, such as the fleet or basin a rig name starts with,
+ * otherwise the default zone.
+ */
+@Slf4j
+@Component
+public class ReportDateTimes {
+
+    // Handles both single and double digit dates and hours, e.g. "9/26/2025" and "09/26/2025"
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("[M/d/yyyy][MM/dd/yyyy]");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("[H:mm][HH:mm]");
+
+    private final ZoneId defaultZone;
+    // Rig names and prefixes, lower case, longest first
+    private final Map<String, ZoneId> rigZones;
+    private final String zoneFingerprint;
+    private final int maxEntries;
+
+    private final Map<String, LocalDate> dates = new ConcurrentHashMap<>();
+    private final Map<String, LocalTime> times = new ConcurrentHashMap<>();
+
+    public ReportDateTimes(@Value("${pdf.report.time-zone.default:}") String defaultZone,
+            @Value("${pdf.report.time-zone.rigs:}") String rigZones,
+            @Value("${pdf.report.date-cache.max-entries:256}") int maxEntries) {
+        this.defaultZone = defaultZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(defaultZone.trim());
+        this.rigZones = parseRigZones(rigZones);
+        this.zoneFingerprint = Integer.toHexString((this.defaultZone.getId() + "|" + this.rigZones).hashCode());
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Epoch millis of a report date and time in the zone of the rig, or null
+     * when either is missing or cannot be parsed
+     */
+    public Long toEpochMillis(String reportDate, String reportTime, String rig) {
+        if (reportDate == null || reportTime == null) {
+            return null;
+        }
+        LocalDate date = remember(dates, reportDate.trim(), DATE_FORMAT, LocalDate::from);
+        LocalTime time = remember(times, reportTime.trim(), TIME_FORMAT, LocalTime::from);
+        if (date == null || time == null) {
+            log.warn("Could not parse date/time: {} {}", reportDate, reportTime);
+            return null;
+        }
+        return date.atTime(time).atZone(zoneOf(rig)).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Zone the reports of a rig are written in
+     */
+    public ZoneId zoneOf(String rig) {
+        if (rig != null && !rigZones.isEmpty()) {
+            String name = rig.trim().toLowerCase(Locale.ROOT);
+            for (Map.Entry<String, ZoneId> entry : rigZones.entrySet()) {
+                if (name.startsWith(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return defaultZone;
+    }
+
+    /**
+     * Short, stable hash of the resolved zone rules. Anything stored with
+     * epochs computed here, such as cached MudReportDTOs, must be keyed by it.
+     */
+    public String getZoneFingerprint() {
+        return zoneFingerprint;
+    }
+
+    private <T> T remember(Map<String, T> memo, String text, DateTimeFormatter format,
+            TemporalQuery<T> query) {
+        T value = memo.get(text);
+        if (value != null) {
+            return value;
+        }
+        try {
+            value = format.parse(text, query);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        if (memo.size() >= maxEntries) {
+            memo.clear();
+        }
+        memo.put(text, value);
+        return value;
+    }
+
+    /**
+     * "NorAm 27=America/Chicago,Permian=America/Chicago" to a map of lower
+     * case names and prefixes, longest first so the most specific one wins
+     */
+    private static Map<String, ZoneId> parseRigZones(String config) {
+        Map<String, ZoneId> parsed = new HashMap<>();
+        for (String pair : config.isBlank() ? new String[0] : config.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected rig=zone in pdf.report.time-zone.rigs: " + pair);
+            }
+            String name = pair.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+            parsed.put(name, ZoneId.of(pair.substring(separator + 1).trim()));
+        }
+
+        List<String> names = new ArrayList<>(parsed.keySet());
+        names.sort(Comparator.comparingInt(String::length).reversed());
+        Map<String, ZoneId> zones = new LinkedHashMap<>();
+        for (String name : names) {
+            zones.put(name, parsed.get(name));
+        }
+        return zones;
+    }
+}
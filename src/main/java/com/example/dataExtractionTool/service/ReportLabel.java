@@ -0,0 +1,127 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.util.LabelMatcher;
+
+/**
+ * Field labels and section terminators recognised in Daily Mud Report tables.
+ *
+ * All labels are compiled into one {@link LabelMatcher} when the class is
+ * loaded, so a cell or row is classified against every label in a single scan.
+ * The bit of each label in the match mask is its ordinal.
+ */
+public enum ReportLabel {
+
+    // -- Well header labels --
+    WELL_NAME("well name", true),
+    WELL_NO("well no", true),
+    API("api", true),
+    REPORT_NO("Report No"),
+    REPORT_NO_DOT("Report No."),
+    REPORT_DATE("Report date"),
+    REPORT_TIME("Report time"),
+    SPUD_DATE("Spud date"),
+    RIG("Rig"),
+    ACTIVITY("Activity"),
+    WALK("Walk"),
+    MD_FT("MD(ft)"),
+    MD_FT_SPACED("MD (ft)"),
+    TVD_FT("TVD(ft)"),
+    TVD_FT_SPACED("TVD (ft)"),
+    INC("Inc"),
+    DEG("deg"),
+    AZI("AZI"),
+    AZI_LOWER("Azi"),
+    OPEN_PAREN("("),
+    API_WELL_NO("API well No."),
+    API_WELL_NO_NO_DOT("API well No"),
+
+    // -- Section headers and terminators --
+    REMARKS("REMARKS"),
+    RECOMMENDED("RECOMMENDED"),
+    ANNULAR("ANNULAR"),
+    ADDITION("ADDITION"),
+    LOSS("LOSS"),
+    VOL_TRACK("VOL. TRACK"),
+    VOL("VOL"),
+    TRACK("TRACK"),
+    BBL("bbl"),
+    RIG_UP("Rig-up"),
+    LGS("LGS"),
+    HGS("HGS"),
+    OBM_CHEMICALS("OBM chemicals"),
+    SOLIDS("SOLIDS"),
+    BIT("BIT"),
+    TIME("TIME"),
+    DRILLING("Drilling"),
+    CIRCULATING("Circulating"),
+    DISTRIBUTION("DISTRIBUTION");
+
+    /** Rows that end the MUD PROPERTIES section */
+    public static final long MUD_PROPERTIES_END = maskOf(REMARKS, ANNULAR);
+    /** Rows that end the REMARKS section */
+    public static final long REMARKS_END = maskOf(ADDITION, LOSS, VOL_TRACK);
+    /** LOSS categories that belong to the next table */
+    public static final long LOSS_END = maskOf(RIG_UP, LGS, HGS, OBM_CHEMICALS, SOLIDS, BIT, TIME, DRILLING,
+            CIRCULATING);
+    /** VOL.TRACK categories that belong to the next table */
+    public static final long VOL_TRACK_END = maskOf(TIME, DISTRIBUTION);
+
+    private static final LabelMatcher MATCHER;
+
+    static {
+        LabelMatcher.Builder builder = LabelMatcher.builder();
+        for (ReportLabel label : values()) {
+            builder.add(label.text, label.ignoreCase);
+        }
+        MATCHER = builder.build();
+    }
+
+    private final String text;
+    private final boolean ignoreCase;
+
+    ReportLabel(String text) {
+        this(text, false);
+    }
+
+    ReportLabel(String text, boolean ignoreCase) {
+        this.text = text;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Classify a cell or row text against every label at once
+     */
+    public static long match(CharSequence text) {
+        return MATCHER.match(text);
+    }
+
+    public static long maskOf(ReportLabel... labels) {
+        long mask = 0L;
+        for (ReportLabel label : labels) {
+            mask |= label.bit();
+        }
+        return mask;
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * True if the label is contained in the text the mask was computed from
+     */
+    public boolean in(long mask) {
+        return (mask & bit()) != 0;
+    }
+
+    /**
+     * True if the text the mask was computed from is exactly this label
+     */
+    public boolean isExactly(long mask, String matchedText) {
+        return in(mask) && matchedText.length() == text.length();
+    }
+
+    public String getText() {
+        return text;
+    }
+}
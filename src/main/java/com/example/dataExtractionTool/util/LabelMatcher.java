@@ -0,0 +1,212 @@
+package com.example.dataExtractionTool.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Multi-pattern substring matcher (Aho-Corasick automaton compiled to a DFA).
+ *
+ * Up to 64 ASCII patterns are compiled once; {@link #match(CharSequence)} then
+ * reports every pattern contained in a text in a single left-to-right scan,
+ * as a bit mask where bit {@code i} stands for the i-th pattern. Matching does
+ * not allocate. Each pattern is either case-sensitive or case-insensitive.
+ */
+public final class LabelMatcher {
+
+    private static final int MAX_PATTERNS = 64;
+    private static final int ASCII = 128;
+
+    private final String[] patterns;
+    private final boolean[] ignoreCase;
+
+    // Folded ASCII char -> alphabet index (0 = not part of any pattern)
+    private final int[] alphabet;
+    private final int alphabetSize;
+
+    // DFA transitions: state * alphabetSize + symbol -> state
+    private final int[] transitions;
+    // Patterns ending in a state (including via failure links)
+    private final long[] insensitiveOutput;
+    private final long[] sensitiveOutput;
+
+    private LabelMatcher(List<String> patterns, List<Boolean> ignoreCase) {
+        int count = patterns.size();
+        if (count > MAX_PATTERNS) {
+            throw new IllegalArgumentException("At most " + MAX_PATTERNS + " patterns are supported");
+        }
+
+        this.patterns = patterns.toArray(new String[0]);
+        this.ignoreCase = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            this.ignoreCase[i] = ignoreCase.get(i);
+        }
+
+        // 1. Alphabet of folded characters used by the patterns
+        this.alphabet = new int[ASCII];
+        int symbols = 1;
+        for (String pattern : this.patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Patterns must not be empty");
+            }
+            for (int c = 0; c < pattern.length(); c++) {
+                char ch = pattern.charAt(c);
+                if (ch >= ASCII) {
+                    throw new IllegalArgumentException("Only ASCII patterns are supported: " + pattern);
+                }
+                int folded = fold(ch);
+                if (alphabet[folded] == 0) {
+                    alphabet[folded] = symbols++;
+                }
+            }
+        }
+        this.alphabetSize = symbols;
+
+        // 2. Trie over the folded patterns
+        List<int[]> trie = new ArrayList<>();
+        List<long[]> outputs = new ArrayList<>();
+        trie.add(newNode(symbols));
+        outputs.add(new long[2]);
+
+        for (int p = 0; p < count; p++) {
+            int state = 0;
+            String pattern = this.patterns[p];
+            for (int c = 0; c < pattern.length(); c++) {
+                int symbol = alphabet[fold(pattern.charAt(c))];
+                int next = trie.get(state)[symbol];
+                if (next == -1) {
+                    next = trie.size();
+                    trie.add(newNode(symbols));
+                    outputs.add(new long[2]);
+                    trie.get(state)[symbol] = next;
+                }
+                state = next;
+            }
+            outputs.get(state)[this.ignoreCase[p] ? 0 : 1] |= 1L << p;
+        }
+
+        // 3. Failure links, folded into a complete transition table (breadth first)
+        int states = trie.size();
+        this.transitions = new int[states * symbols];
+        this.insensitiveOutput = new long[states];
+        this.sensitiveOutput = new long[states];
+        int[] failure = new int[states];
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            int next = trie.get(0)[symbol];
+            if (next == -1) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        insensitiveOutput[0] = outputs.get(0)[0];
+        sensitiveOutput[0] = outputs.get(0)[1];
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            insensitiveOutput[state] = outputs.get(state)[0] | insensitiveOutput[failure[state]];
+            sensitiveOutput[state] = outputs.get(state)[1] | sensitiveOutput[failure[state]];
+
+            for (int symbol = 0; symbol < symbols; symbol++) {
+                int next = trie.get(state)[symbol];
+                if (next == -1) {
+                    transitions[state * symbols + symbol] = transitions[failure[state] * symbols + symbol];
+                } else {
+                    transitions[state * symbols + symbol] = next;
+                    failure[next] = transitions[failure[state] * symbols + symbol];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Bit mask of every pattern contained in the text (0 for null or no match)
+     */
+    public long match(CharSequence text) {
+        if (text == null) {
+            return 0L;
+        }
+
+        long found = 0L;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            int folded = ch < ASCII ? fold(ch) : Character.toLowerCase(ch);
+            int symbol = folded < ASCII ? alphabet[folded] : 0;
+            state = transitions[state * alphabetSize + symbol];
+
+            found |= insensitiveOutput[state];
+
+            long sensitive = sensitiveOutput[state] & ~found;
+            while (sensitive != 0) {
+                int p = Long.numberOfTrailingZeros(sensitive);
+                sensitive &= sensitive - 1;
+                String pattern = patterns[p];
+                if (regionEquals(text, i + 1 - pattern.length(), pattern)) {
+                    found |= 1L << p;
+                }
+            }
+        }
+        return found;
+    }
+
+    public int size() {
+        return patterns.length;
+    }
+
+    public String pattern(int index) {
+        return patterns[index];
+    }
+
+    private static boolean regionEquals(CharSequence text, int offset, String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (text.charAt(offset + i) != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int fold(char ch) {
+        return ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch;
+    }
+
+    private static int[] newNode(int symbols) {
+        int[] node = new int[symbols];
+        Arrays.fill(node, -1);
+        return node;
+    }
+
+    /**
+     * Collects patterns in bit order
+     */
+    public static final class Builder {
+
+        private final List<String> patterns = new ArrayList<>();
+        private final List<Boolean> ignoreCase = new ArrayList<>();
+
+        /**
+         * Add a pattern; returns its bit index
+         */
+        public int add(String pattern, boolean ignoreCase) {
+            this.patterns.add(pattern);
+            this.ignoreCase.add(ignoreCase);
+            return this.patterns.size() - 1;
+        }
+
+        public LabelMatcher build() {
+            return new LabelMatcher(patterns, ignoreCase);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.dataExtractionTool.util;
+
+import technology.tabula.RectangularTextContainer;
+import technology.tabula.Table;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, precomputed view of a Tabula table.
+ *
+ * Cell text is read and trimmed once, row strings are joined once, and the
+ * first row of every requested section anchor is located once. Section
+ * extractors read from this index instead of calling getText() on the same
+ * cells over and over.
+ */
+public final class TableIndex {
+
+    private static final String[] EMPTY_ROW = new String[0];
+
+    private final String[][] cells;
+    private final String[] rowTexts;
+    private final Map<String, Integer> anchorRows;
+    private final Map<String, SectionRange> sections;
+
+    private TableIndex(String[][] cells, String[] rowTexts, Map<String, Integer> anchorRows,
+            Map<String, SectionRange> sections) {
+        this.cells = cells;
+        this.rowTexts = rowTexts;
+        this.anchorRows = anchorRows;
+        this.sections = sections;
+    }
+
+    /**
+     * Build an index over a Tabula table, resolving the given section anchors
+     */
+    public static TableIndex build(Table table, List<String> anchors) {
+        List<List<RectangularTextContainer>> rows = table.getRows();
+        int rowCount = rows.size();
+
+        String[][] cells = new String[rowCount][];
+        String[] rowTexts = new String[rowCount];
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rowCount; i++) {
+            List<RectangularTextContainer> row = rows.get(i);
+            String[] rowCells = row.isEmpty() ? EMPTY_ROW : new String[row.size()];
+
+            sb.setLength(0);
+            for (int col = 0; col < rowCells.length; col++) {
+                String text = row.get(col).getText().trim();
+                rowCells[col] = text;
+                if (sb.length() > 0)
+                    sb.append(' ');
+                sb.append(text);
+            }
+            cells[i] = rowCells;
+            rowTexts[i] = sb.toString();
+        }
+
+        Map<String, Integer> anchorRows = new HashMap<>();
+        int[] starts = new int[anchors.size()];
+        for (int a = 0; a < anchors.size(); a++) {
+            starts[a] = findRow(rowTexts, anchors.get(a));
+            anchorRows.put(anchors.get(a), starts[a]);
+        }
+
+        return new TableIndex(cells, rowTexts, Collections.unmodifiableMap(anchorRows),
+                resolveSections(rowTexts.length, anchors, starts));
+    }
+
+    /**
+     * Each anchor maps to the range from its first row up to (not including) the
+     * nearest anchored row below it
+     */
+    private static Map<String, SectionRange> resolveSections(int rowCount, List<String> anchors, int[] starts) {
+        Map<String, SectionRange> sections = new LinkedHashMap<>();
+        for (int a = 0; a < anchors.size(); a++) {
+            if (starts[a] == -1)
+                continue;
+
+            int end = rowCount;
+            for (int start : starts) {
+                if (start > starts[a] && start < end) {
+                    end = start;
+                }
+            }
+            sections.put(anchors.get(a), new SectionRange(starts[a], end));
+        }
+        return Collections.unmodifiableMap(sections);
+    }
+
+    private static int findRow(String[] rowTexts, String text) {
+        for (int i = 0; i < rowTexts.length; i++) {
+            if (rowTexts[i].contains(text)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getRowCount() {
+        return cells.length;
+    }
+
+    public int getColumnCount(int row) {
+        return cells[row].length;
+    }
+
+    /**
+     * Trimmed text of a cell, or an empty string when the column is out of range
+     */
+    public String getCell(int row, int col) {
+        String[] rowCells = cells[row];
+        return col >= 0 && col < rowCells.length ? rowCells[col] : "";
+    }
+
+    /**
+     * Trimmed cell texts of a row joined by single spaces (leading empty cells
+     * add no separator)
+     */
+    public String getRowText(int row) {
+        return rowTexts[row];
+    }
+
+    /**
+     * First row containing the text, or -1. Anchors resolved at build time are
+     * answered without scanning.
+     */
+    public int findRowWithText(String text) {
+        Integer anchorRow = anchorRows.get(text);
+        return anchorRow != null ? anchorRow : findRow(rowTexts, text);
+    }
+
+    public Map<String, SectionRange> getSections() {
+        return sections;
+    }
+
+    /**
+     * Half-open row range [startRow, endRow) of a table section
+     */
+    public static final class SectionRange {
+
+        private final int startRow;
+        private final int endRow;
+
+        public SectionRange(int startRow, int endRow) {
+            this.startRow = startRow;
+            this.endRow = endRow;
+        }
+
+        public int getStartRow() {
+            return startRow;
+        }
+
+        public int getEndRow() {
+            return endRow;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + startRow + ", " + endRow + ")";
+        }
+    }
+}
@@ -8,6 +8,29 @@ import java.util.List;
  */
 public class TableParser {
 
+    /**
+     * Shape of a table cell value, as far as numbers are concerned
+     */
+    public enum ValueShape {
+        /** Blank */
+        EMPTY,
+        /** A number exactly as Java reads it: "16635", "-0.5", "1.2e3" */
+        NUMBER,
+        /** A number once its commas are dropped: "22,167" */
+        GROUPED_NUMBER,
+        /** Numbers separated by slashes: "170/170/170/170", "600/300/200" */
+        SLASH_GROUP,
+        /** A number followed by a unit: "9.6 ppg", "12%", "-5 bbl" */
+        NUMBER_WITH_UNIT,
+        /** Anything else */
+        TEXT
+    }
+
+    // Exact powers of ten for the fast path of parseNumber
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
     /**
      * Clean and normalize text by removing extra whitespace
      */
@@ -97,4 +120,263 @@ public class TableParser {
         // Keep digits, decimal points, and negative signs
         return value.replaceAll("[^0-9.\\-]", "").trim();
     }
+
+    /**
+     * Classify a cell value without throwing. NUMBER accepts the decimal forms
+     * Double.parseDouble accepts, including "NaN", "Infinity" and a trailing
+     * f or d; hexadecimal numbers are TEXT.
+     */
+    public static ValueShape classify(String value) {
+        if (value == null) {
+            return ValueShape.EMPTY;
+        }
+        String trimmed = value.trim();
+        int end = trimmed.length();
+        if (end == 0) {
+            return ValueShape.EMPTY;
+        }
+        if (scanNumber(trimmed, 0, false) == end) {
+            return ValueShape.NUMBER;
+        }
+        if (trimmed.indexOf(',') >= 0) {
+            String cleaned = withoutCommas(trimmed).trim();
+            if (!cleaned.isEmpty() && scanNumber(cleaned, 0, false) == cleaned.length()) {
+                return ValueShape.GROUPED_NUMBER;
+            }
+        }
+
+        // Shapes that start with a plain or comma-grouped number
+        int position = scanNumber(trimmed, 0, true);
+        if (position < 0) {
+            return ValueShape.TEXT;
+        }
+        if (position < end && trimmed.charAt(position) == '/') {
+            while (position < end && trimmed.charAt(position) == '/') {
+                position = scanNumber(trimmed, position + 1, true);
+                if (position < 0) {
+                    return ValueShape.TEXT;
+                }
+            }
+            return position == end ? ValueShape.SLASH_GROUP : ValueShape.TEXT;
+        }
+        while (position < end && trimmed.charAt(position) == ' ') {
+            position++;
+        }
+        return isUnit(trimmed, position) ? ValueShape.NUMBER_WITH_UNIT : ValueShape.TEXT;
+    }
+
+    /**
+     * Value of a NUMBER or GROUPED_NUMBER, its commas ignored, or NaN for any
+     * other shape. Without throwing, this gives what Double.parseDouble gives
+     * for the same text.
+     */
+    public static double parseNumber(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        String number = value.trim();
+        if (number.indexOf(',') >= 0) {
+            number = withoutCommas(number).trim();
+        }
+        int end = number.length();
+        if (end == 0 || scanNumber(number, 0, false) != end) {
+            return Double.NaN;
+        }
+
+        int i = 0;
+        boolean negative = false;
+        if (number.charAt(0) == '+' || number.charAt(0) == '-') {
+            negative = number.charAt(0) == '-';
+            i++;
+        }
+        if (number.charAt(i) == 'N') {
+            return Double.NaN;
+        }
+        if (number.charAt(i) == 'I') {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+
+        // Fast path: a mantissa of up to 15 digits and an exact power of ten
+        // need a single, correctly rounded multiplication or division
+        long mantissa = 0;
+        int significantDigits = 0;
+        int scale = 0;
+        boolean afterPoint = false;
+        for (; i < end; i++) {
+            char c = number.charAt(i);
+            if (c == '.') {
+                afterPoint = true;
+            } else if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') {
+                    if (++significantDigits > 15) {
+                        return Double.parseDouble(number);
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (afterPoint) {
+                    scale--;
+                }
+            } else {
+                break;
+            }
+        }
+        if (i < end && (number.charAt(i) == 'e' || number.charAt(i) == 'E')) {
+            i++;
+            boolean negativeExponent = number.charAt(i) == '-';
+            if (number.charAt(i) == '+' || number.charAt(i) == '-') {
+                i++;
+            }
+            int exponent = 0;
+            for (; i < end && number.charAt(i) >= '0' && number.charAt(i) <= '9'; i++) {
+                exponent = exponent * 10 + (number.charAt(i) - '0');
+                if (exponent > 400) {
+                    return Double.parseDouble(number);
+                }
+            }
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        double result;
+        if (mantissa == 0) {
+            result = 0.0;
+        } else if (scale >= 0 && scale < POWERS_OF_TEN.length) {
+            result = mantissa * POWERS_OF_TEN[scale];
+        } else if (scale < 0 && -scale < POWERS_OF_TEN.length) {
+            result = mantissa / POWERS_OF_TEN[-scale];
+        } else {
+            return Double.parseDouble(number);
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Whether a cell holds only digits, commas, points, slashes, dashes and
+     * whitespace, as numeric header values such as MD and TVD do
+     */
+    public static boolean isNumericText(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && c != ',' && c != '.' && c != '/' && c != '-' && !isRegexSpace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether a cell may hold a numeric header value: numeric text, or a
+     * single line with digits and no letters, as "12 %"
+     */
+    public static boolean isNumericCell(String value) {
+        if (isNumericText(value)) {
+            return true;
+        }
+        boolean digit = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || isLineTerminator(c)) {
+                return false;
+            }
+            digit |= c >= '0' && c <= '9';
+        }
+        return digit;
+    }
+
+    /**
+     * End of the number starting at start, or -1 if there is none. A strict
+     * number follows the Double.parseDouble grammar and its end has to be the
+     * end of the value to count; a grouped one may have commas between its
+     * digits and be followed by anything.
+     */
+    private static int scanNumber(String value, int start, boolean grouped) {
+        int end = value.length();
+        int i = start;
+        if (i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        if (!grouped && i < end && (value.startsWith("NaN", i) || value.startsWith("Infinity", i))) {
+            return value.charAt(i) == 'N' ? i + 3 : i + 8;
+        }
+
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else if (!(grouped && c == ',' && digits > 0 && !point && i + 1 < end
+                    && value.charAt(i + 1) >= '0' && value.charAt(i + 1) <= '9')) {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return -1;
+        }
+        if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (exponent < end && (value.charAt(exponent) == '+' || value.charAt(exponent) == '-')) {
+                exponent++;
+            }
+            int exponentEnd = exponent;
+            while (exponentEnd < end && value.charAt(exponentEnd) >= '0' && value.charAt(exponentEnd) <= '9') {
+                exponentEnd++;
+            }
+            if (exponentEnd > exponent) {
+                i = exponentEnd;
+            } else if (!grouped) {
+                return -1;
+            }
+        }
+        if (!grouped && i == end - 1 && "fFdD".indexOf(value.charAt(i)) >= 0) {
+            return end;
+        }
+        return i;
+    }
+
+    private static String withoutCommas(String value) {
+        StringBuilder cleaned = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != ',') {
+                cleaned.append(value.charAt(i));
+            }
+        }
+        return cleaned.toString();
+    }
+
+    /**
+     * A unit starts with a letter, percent or degree sign and goes on with
+     * letters, digits, slashes, points or parentheses, as "ppg", "%" or "lb/bbl"
+     */
+    private static boolean isUnit(String value, int start) {
+        if (start >= value.length()) {
+            return false;
+        }
+        char first = value.charAt(start);
+        if (!Character.isLetter(first) && first != '%' && first != '\u00B0') {
+            return false;
+        }
+        for (int i = start + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isLetter(c) && c != '%' && c != '\u00B0' && c != '/' && c != '.' && c != '('
+                    && c != ')' && c != ' ' && !(c >= '0' && c <= '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Whitespace as \s matches it
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // Line terminators, which . does not match
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
 }
@@ -0,0 +1,349 @@
+package com.example.dataExtractionTool.corpus;
+
+import com.example.dataExtractionTool.corpus.GridTableWriter.Cell;
+import com.example.dataExtractionTool.model.Loss;
+import com.example.dataExtractionTool.model.MudProperty;
+import com.example.dataExtractionTool.model.VolumeTrack;
+import com.example.dataExtractionTool.model.WellHeader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Writes a corpus of synthetic Daily Mud Report PDFs with a ground-truth JSON
+ * file next to each one.
+ *
+ * Reports vary in template, well and property values, sample count, remarks
+ * length, page count and which sections are present. Every report is derived
+ * from the corpus seed and its number alone, so a single file can be
+ * regenerated. Usage:
+ *
+ * <pre>
+ * DmrCorpusGenerator &lt;output dir&gt; [count=1000] [seed=42]
+ * </pre>
+ */
+public class DmrCorpusGenerator {
+
+    private static final float MARGIN = 20f;
+    private static final float LEADING_COLUMN_WIDTH = 8f;
+
+    /**
+     * Relative widths of the twelve data columns: the label column, four
+     * samples, a gap, then three category/value pairs. Column 6 onwards lies in
+     * the right half of the page, where the remarks text pass looks.
+     */
+    private static final float[] COLUMN_WEIGHTS = { 95, 40, 40, 40, 40, 30, 60, 36, 60, 36, 60, 36 };
+    private static final int MAX_PAGES = 4;
+
+    /** Share of reports missing each optional section */
+    private static final double MISSING_SECTION_RATE = 0.08;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: DmrCorpusGenerator <output dir> [count=1000] [seed=42]");
+            System.exit(2);
+        }
+        Path outputDirectory = Paths.get(args[0]);
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        long start = System.nanoTime();
+        new DmrCorpusGenerator().generate(outputDirectory, count, seed);
+        System.out.printf(Locale.ROOT, "Wrote %d reports to %s in %d ms%n", count, outputDirectory.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void generate(Path outputDirectory, int count, long seed) throws IOException {
+        Files.createDirectories(outputDirectory);
+        for (int i = 1; i <= count; i++) {
+            String baseName = String.format(Locale.ROOT, "dmr-%05d", i);
+            DmrGroundTruth truth = writeReport(outputDirectory.resolve(baseName + ".pdf"), seed * 1_000_003L + i);
+            objectMapper.writeValue(outputDirectory.resolve(baseName + ".json").toFile(), truth);
+        }
+    }
+
+    /**
+     * Generate one report from its own seed and return what it contains
+     */
+    public DmrGroundTruth writeReport(Path pdfFile, long reportSeed) throws IOException {
+        Random random = new Random(reportSeed);
+        DmrTemplate template = DmrTemplate.values()[random.nextInt(DmrTemplate.values().length)];
+
+        DmrGroundTruth truth = new DmrGroundTruth();
+        truth.setFileName(pdfFile.getFileName().toString());
+        truth.setTemplate(template.name());
+        truth.setSeed(reportSeed);
+        truth.setPageCount(1 + (random.nextDouble() < 0.3 ? 1 + random.nextInt(MAX_PAGES - 1) : 0));
+
+        GridTableWriter table = newTable(template);
+        addHeader(table, template, truth, random);
+        if (template.isDrillingInfo()) {
+            addDrillingInfo(table, random);
+        }
+        if (!missing(random)) {
+            addMudProperties(table, template, truth, random);
+        }
+        if (!missing(random)) {
+            addRemarks(table, truth, random);
+        }
+        if (!missing(random)) {
+            addLossAndVolumeTrack(table, truth, random);
+        }
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage first = new PDPage(template.getPageSize());
+            document.addPage(first);
+            try (PDPageContentStream stream = new PDPageContentStream(document, first)) {
+                float top = template.getPageSize().getHeight() - MARGIN;
+                if (table.getHeight() > top - MARGIN) {
+                    throw new IllegalStateException("Report " + reportSeed + " does not fit on one page");
+                }
+                table.draw(stream, top);
+            }
+
+            for (int page = 2; page <= truth.getPageCount(); page++) {
+                addContinuationPage(document, template, page, random);
+            }
+            document.save(pdfFile.toFile());
+        }
+        return truth;
+    }
+
+    private static GridTableWriter newTable(DmrTemplate template) {
+        // The legal-size samples have a narrow empty first column
+        boolean leadingColumn = template.isWellNameBelowLabel();
+        float width = template.getPageSize().getWidth() - 2 * MARGIN - (leadingColumn ? LEADING_COLUMN_WIDTH : 0);
+        float totalWeight = 0;
+        for (float weight : COLUMN_WEIGHTS) {
+            totalWeight += weight;
+        }
+
+        float[] columns = new float[COLUMN_WEIGHTS.length + (leadingColumn ? 1 : 0)];
+        int offset = 0;
+        if (leadingColumn) {
+            columns[offset++] = LEADING_COLUMN_WIDTH;
+        }
+        for (float weight : COLUMN_WEIGHTS) {
+            columns[offset++] = width * weight / totalWeight;
+        }
+        GridTableWriter table = new GridTableWriter(MARGIN, columns);
+        return leadingColumn ? table.withLeadingColumn() : table;
+    }
+
+    private static boolean missing(Random random) {
+        return random.nextDouble() < MISSING_SECTION_RATE;
+    }
+
+    private void addHeader(GridTableWriter table, DmrTemplate template, DmrGroundTruth truth, Random random) {
+        LocalDate reportDate = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(900));
+        LocalDate spudDate = reportDate.minusDays(random.nextInt(60));
+        int md = 1000 + random.nextInt(21000);
+
+        WellHeader header = new WellHeader();
+        header.setWellName(DmrVocabulary.pick(random, DmrVocabulary.LEASES) + " "
+                + (char) ('A' + random.nextInt(6)) + " #" + (1 + random.nextInt(40))
+                + DmrVocabulary.pick(random, DmrVocabulary.WELL_SUFFIXES));
+        header.setReportNo(String.valueOf(1 + random.nextInt(60)));
+        header.setReportDate(reportDate.format(template.getDateFormat()));
+        header.setReportTime(LocalTime.of(random.nextInt(24), 0).format(template.getTimeFormat()));
+        header.setSpudDate(spudDate.format(template.getDateFormat()));
+        header.setRig(DmrVocabulary.pick(random, DmrVocabulary.CONTRACTORS) + " " + (10 + random.nextInt(900)));
+        header.setActivity(DmrVocabulary.pick(random, DmrVocabulary.ACTIVITIES));
+        header.setMd(String.valueOf(md));
+        header.setTvd(String.valueOf(md - random.nextInt(Math.max(1, md / 2))));
+        header.setInc(DmrVocabulary.number(random, 0, 95, 2));
+        header.setAzi(DmrVocabulary.number(random, 0, 359, 2));
+        header.setApiWellNo(String.format(Locale.ROOT, "%02d-%03d-%05d", 30 + random.nextInt(20),
+                random.nextInt(1000), random.nextInt(100000)));
+        truth.setWellHeader(header);
+
+        table.row(Cell.span(template.getCompany(), 2), Cell.span(template.getTitle(), 2), Cell.blank(2),
+                Cell.of("Report No."), Cell.of(header.getReportNo()), Cell.of("MD (ft)"), Cell.of(header.getMd()));
+        table.row(Cell.blank(6), Cell.of("Report date"), Cell.of(header.getReportDate()),
+                Cell.of("TVD (ft)"), Cell.of(header.getTvd()));
+        table.row(Cell.blank(6), Cell.of("Report time"), Cell.of(header.getReportTime()),
+                Cell.of("Inc. (deg)"), Cell.of(header.getInc()));
+        table.row(Cell.of("Address"), Cell.span((1000 + random.nextInt(9000)) + " N Hwy 349", 3), Cell.blank(2),
+                Cell.of("Spud date"), Cell.of(header.getSpudDate()),
+                Cell.of("Azi. (deg)"), Cell.of(header.getAzi()));
+        table.row(Cell.of("Stock point"), Cell.span(DmrVocabulary.pick(random, DmrVocabulary.STOCK_POINTS), 2),
+                Cell.of("Rig"), Cell.span(header.getRig(), 2), Cell.of("API well No."),
+                Cell.span(header.getApiWellNo(), 2), Cell.of("Activity"), Cell.span(header.getActivity(), 2));
+        table.row(Cell.of("Operator"), Cell.span(DmrVocabulary.pick(random, DmrVocabulary.OPERATORS), 3),
+                Cell.of("Contractor"), Cell.span(DmrVocabulary.pick(random, DmrVocabulary.CONTRACTORS), 2),
+                Cell.of("Engineer"), Cell.span(DmrVocabulary.pick(random, DmrVocabulary.ENGINEERS), 2),
+                Cell.of("Cell"), Cell.of(String.format(Locale.ROOT, "432-%03d-%04d", random.nextInt(1000),
+                        random.nextInt(10000))));
+
+        String field = DmrVocabulary.pick(random, DmrVocabulary.FIELDS);
+        String township = DmrVocabulary.pick(random, DmrVocabulary.TOWNSHIPS);
+        String county = DmrVocabulary.pick(random, DmrVocabulary.COUNTIES);
+        String state = DmrVocabulary.pick(random, DmrVocabulary.STATES);
+        if (template.isWellNameBelowLabel()) {
+            table.row(Cell.of("Well name/No."), Cell.span("Field/Block", 2), Cell.span("Section-Township-Range", 2),
+                    Cell.span("County/Parish/Offshore area", 2), Cell.span("State/Province", 2),
+                    Cell.span("Country", 3));
+            table.row(Cell.of(header.getWellName()), Cell.span(field, 2), Cell.span(township, 2),
+                    Cell.span(county, 2), Cell.span(state, 2), Cell.span("USA", 3));
+        } else {
+            table.row(Cell.of("Well name/No."), Cell.span(header.getWellName(), 3), Cell.of("Field/Block"),
+                    Cell.span(field, 2), Cell.of("County"), Cell.of(county), Cell.of("State"), Cell.span(state, 2));
+        }
+    }
+
+    private static void addDrillingInfo(GridTableWriter table, Random random) {
+        table.row(Cell.span("DRILLING INFO", 3), Cell.span("VOLUME (bbl)", 3), Cell.span("CIRCULATION", 6));
+        String[][] labels = {
+                { "WOB (lbf)", "Hole", "Surf. - bit" },
+                { "RPM (rpm)", "Annulus", "Btm up" },
+                { "ROP (ft/hr)", "Pit", "Total circ." } };
+        for (String[] row : labels) {
+            table.row(Cell.span(row[0], 2), Cell.of(DmrVocabulary.number(random, 0, 200, 0)),
+                    Cell.span(row[1], 2), Cell.of(DmrVocabulary.number(random, 0, 1500, 0)),
+                    Cell.span(row[2], 2), Cell.of(DmrVocabulary.number(random, 1, 120, 0)),
+                    Cell.of(DmrVocabulary.number(random, 200, 20000, 0)));
+        }
+    }
+
+    private static void addMudProperties(GridTableWriter table, DmrTemplate template, DmrGroundTruth truth,
+            Random random) {
+        int samples = 1 + random.nextInt(4);
+        boolean inventory = random.nextDouble() > MISSING_SECTION_RATE;
+
+        table.row(Cell.span("MUD PROPERTIES", 5), Cell.span(inventory ? "INVENTORY" : "", 7));
+        table.row(Cell.of("Properties"), Cell.of("Sample 1"), Cell.of("Sample 2"), Cell.of("Sample 3"),
+                Cell.of("Sample 4"), Cell.span(inventory ? "Product" : "", 2), Cell.of(inventory ? "Initial" : ""),
+                Cell.of(inventory ? "Rec." : ""), Cell.of(inventory ? "Final" : ""), Cell.of(inventory ? "Used" : ""),
+                Cell.of(inventory ? "Cum." : ""));
+
+        // A legal page holds the full property list, a letter page most of it
+        List<DmrVocabulary.PropertySpec> specs = template.getProperties();
+        int rows = template.getPageSize() == PDRectangle.LETTER ? Math.min(specs.size(), 24) : specs.size();
+        List<String> products = new ArrayList<>(DmrVocabulary.PRODUCTS);
+        Collections.shuffle(products, random);
+
+        for (int i = 0; i < rows; i++) {
+            DmrVocabulary.PropertySpec spec = specs.get(i);
+            String[] values = new String[4];
+            for (int s = 0; s < 4; s++) {
+                // Unused samples are blank, and a few measured values are missing
+                values[s] = s < samples && random.nextDouble() > 0.1 ? spec.sample(random) : "";
+            }
+            truth.getMudProperties().add(MudProperty.builder().propertyName(spec.getName())
+                    .sample1(values[0]).sample2(values[1]).sample3(values[2]).sample4(values[3]).build());
+
+            boolean productRow = inventory && i < products.size() && random.nextDouble() > 0.2;
+            int initial = random.nextInt(500);
+            int received = random.nextDouble() > 0.7 ? random.nextInt(300) : 0;
+            table.row(Cell.of(spec.getName()), Cell.of(values[0]), Cell.of(values[1]), Cell.of(values[2]),
+                    Cell.of(values[3]), Cell.span(productRow ? products.get(i) : "", 2),
+                    Cell.of(productRow ? String.valueOf(initial) : ""),
+                    Cell.of(productRow ? String.valueOf(received) : ""),
+                    Cell.of(productRow ? String.valueOf(initial + received) : ""),
+                    Cell.of(""), Cell.of(productRow ? String.valueOf(random.nextInt(400)) : ""));
+        }
+
+        // An empty row closes the section, as in the samples
+        table.row();
+    }
+
+    private static void addRemarks(GridTableWriter table, DmrGroundTruth truth, Random random) {
+        String remarks = sentences(random, DmrVocabulary.REMARK_SENTENCES, 1 + random.nextInt(10));
+        String treatments = sentences(random, DmrVocabulary.TREATMENT_SENTENCES, 1 + random.nextInt(4));
+        truth.setRemarkText(remarks);
+
+        // Column 5 stays empty so no treatment text reaches the right half read by the text pass
+        table.row(Cell.span("RECOMMENDED TOUR TREATMENTS", 5), Cell.blank(), Cell.span("REMARKS", 6));
+        table.row(Cell.span(treatments, 5), Cell.blank(), Cell.span(remarks, 6));
+    }
+
+    private static void addLossAndVolumeTrack(GridTableWriter table, DmrGroundTruth truth, Random random) {
+        table.row(Cell.blank(6), Cell.span("ADDITION (bbl)", 2), Cell.span("LOSS (bbl)", 2),
+                Cell.span("VOL. TRACK (bbl)", 2));
+        for (int i = 0; i < DmrVocabulary.LOSS_CATEGORIES.size(); i++) {
+            String addition = volume(random, 0.3);
+            String loss = volume(random, 0.4);
+            String volume = volume(random, 0.6);
+            truth.getLosses().add(Loss.builder()
+                    .category(DmrVocabulary.LOSS_CATEGORIES.get(i)).value(loss).build());
+            truth.getVolumeTracks().add(VolumeTrack.builder()
+                    .category(DmrVocabulary.VOLUME_CATEGORIES.get(i)).value(volume).build());
+
+            table.row(Cell.blank(6), Cell.of(DmrVocabulary.ADDITION_CATEGORIES.get(i)), Cell.of(addition),
+                    Cell.of(DmrVocabulary.LOSS_CATEGORIES.get(i)), Cell.of(loss),
+                    Cell.of(DmrVocabulary.VOLUME_CATEGORIES.get(i)), Cell.of(volume));
+        }
+
+        // The hydraulics header row carries the last LOSS and VOL. TRACK categories
+        table.row(Cell.of("ANNULAR HYDRAULICS"), Cell.blank(7), Cell.of("Formation"), Cell.blank(),
+                Cell.of("Returned"));
+        truth.getLosses().add(Loss.builder().category("Formation").value("").build());
+        truth.getVolumeTracks().add(VolumeTrack.builder().category("Returned").value("").build());
+
+        // Both category columns end on a label that stops their scan
+        table.row(Cell.of("Section (in)"), Cell.of(DmrVocabulary.number(random, 6, 13, 3) + " x 5.500"),
+                Cell.blank(6), Cell.of("BIT HYDRAULICS"), Cell.blank(), Cell.of("TIME DISTRIBUTION"));
+    }
+
+    private static String volume(Random random, double presentRate) {
+        return random.nextDouble() < presentRate ? String.valueOf(random.nextInt(2000)) : "";
+    }
+
+    private static String sentences(Random random, List<String> pool, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String sentence = DmrVocabulary.pick(random, pool);
+            Object[] args = new Object[] { 1000 + random.nextInt(20000), 1000 + random.nextInt(20000) };
+            sentence = sentence.replace("%s", DmrVocabulary.number(random, 8.5, 12.5, 1));
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(String.format(Locale.ROOT, sentence, args));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Later pages carry a small cost table that must not be taken for the
+     * main table
+     */
+    private static void addContinuationPage(PDDocument document, DmrTemplate template, int pageNumber,
+            Random random) throws IOException {
+        PDPage page = new PDPage(template.getPageSize());
+        document.addPage(page);
+
+        float width = template.getPageSize().getWidth() - 2 * MARGIN;
+        GridTableWriter costs = new GridTableWriter(MARGIN, width * 0.4f, width * 0.2f, width * 0.2f,
+                width * 0.2f);
+        costs.row(Cell.span("DAILY COST DETAIL - PAGE " + pageNumber, 4));
+        costs.row(Cell.of("Product"), Cell.of("Units"), Cell.of("Unit cost ($)"), Cell.of("Total ($)"));
+        int rows = 2 + random.nextInt(6);
+        for (int i = 0; i < rows; i++) {
+            int units = 1 + random.nextInt(40);
+            String unitCost = DmrVocabulary.number(random, 5, 400, 2);
+            costs.row(Cell.of(DmrVocabulary.pick(random, DmrVocabulary.PRODUCTS)), Cell.of(String.valueOf(units)),
+                    Cell.of(unitCost), Cell.of(String.format(Locale.ROOT, "%.2f", units * Double.parseDouble(unitCost))));
+        }
+
+        try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+            costs.draw(stream, template.getPageSize().getHeight() - MARGIN);
+        }
+    }
+}
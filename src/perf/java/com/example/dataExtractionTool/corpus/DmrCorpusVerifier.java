@@ -0,0 +1,96 @@
+package com.example.dataExtractionTool.corpus;
+
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import com.example.dataExtractionTool.service.ExtractionMetrics;
+import com.example.dataExtractionTool.service.ExtractionPlanCache;
+import com.example.dataExtractionTool.service.ExtractionResultCache;
+import com.example.dataExtractionTool.service.ExtractionTraceRecorder;
+import com.example.dataExtractionTool.service.PdfExtractionService;
+import com.example.dataExtractionTool.service.PdfInput;
+import com.example.dataExtractionTool.service.RemarksTextExtractor;
+import com.example.dataExtractionTool.service.ReportDateTimes;
+import com.example.dataExtractionTool.service.TableDetectionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the extractor over a generated corpus and compares each result with
+ * its ground truth. Exits non-zero when any report differs. Usage:
+ *
+ * <pre>
+ * DmrCorpusVerifier &lt;corpus dir&gt;
+ * </pre>
+ */
+public class DmrCorpusVerifier {
+
+    /** Mismatching reports printed in full before the rest are only counted */
+    private static final int MAX_REPORTED = 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: DmrCorpusVerifier <corpus dir>");
+            System.exit(2);
+        }
+        int mismatches = verify(Paths.get(args[0]));
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+
+    static int verify(Path corpusDirectory) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        PdfExtractionService extractionService = extractionService();
+
+        List<Path> truthFiles;
+        try (Stream<Path> files = Files.list(corpusDirectory)) {
+            truthFiles = files.filter(file -> file.getFileName().toString().endsWith(".json"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        int mismatches = 0;
+        for (Path truthFile : truthFiles) {
+            DmrGroundTruth truth = objectMapper.readValue(truthFile.toFile(), DmrGroundTruth.class);
+            Path pdf = corpusDirectory.resolve(truth.getFileName());
+            PdfExtractionResult result = extractionService.extractData(
+                    PdfInput.ofBytes(truth.getFileName(), Files.readAllBytes(pdf)));
+
+            List<String> differences = truth.compare(result);
+            if (differences.isEmpty()) {
+                continue;
+            }
+            mismatches++;
+            if (mismatches <= MAX_REPORTED) {
+                System.out.println(truth.getFileName() + " (" + truth.getTemplate() + ")");
+                differences.forEach(difference -> System.out.println("  " + difference));
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%d of %d reports match their ground truth%n",
+                truthFiles.size() - mismatches, truthFiles.size());
+        return mismatches;
+    }
+
+    /**
+     * Extraction wired as in the application, with the result cache off
+     */
+    private static PdfExtractionService extractionService() {
+        ExtractionMetrics metrics = new ExtractionMetrics(new SimpleMeterRegistry(), 64);
+        RemarksTextExtractor remarksTextExtractor = new RemarksTextExtractor();
+        ReflectionTestUtils.setField(remarksTextExtractor, "extractionEnabled", true);
+        return new PdfExtractionService(remarksTextExtractor,
+                new TableDetectionService(false, 1, metrics),
+                new ExtractionPlanCache(64),
+                new ExtractionResultCache(false, 1, false, null, new ReportDateTimes("", "", 256)),
+                metrics,
+                new ExtractionTraceRecorder(1, 0.0, 0));
+    }
+}
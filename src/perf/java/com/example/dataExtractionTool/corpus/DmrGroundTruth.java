@@ -0,0 +1,85 @@
+package com.example.dataExtractionTool.corpus;
+
+import com.example.dataExtractionTool.model.Loss;
+import com.example.dataExtractionTool.model.MudProperty;
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import com.example.dataExtractionTool.model.VolumeTrack;
+import com.example.dataExtractionTool.model.WellHeader;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What a synthetic report contains, written as JSON next to its PDF.
+ *
+ * Sections use the extraction model classes, so a result can be compared
+ * field by field. Remarks are compared with whitespace collapsed, since the
+ * table and text passes break lines differently.
+ */
+@Data
+@NoArgsConstructor
+public class DmrGroundTruth {
+
+    private String fileName;
+    private String template;
+    private long seed;
+    private int pageCount;
+
+    private WellHeader wellHeader;
+    private List<MudProperty> mudProperties = new ArrayList<>();
+    private String remarkText;
+    private List<Loss> losses = new ArrayList<>();
+    private List<VolumeTrack> volumeTracks = new ArrayList<>();
+
+    /**
+     * Differences between this ground truth and an extraction result; empty
+     * when they agree
+     */
+    public List<String> compare(PdfExtractionResult result) {
+        List<String> differences = new ArrayList<>();
+        if (!result.isSuccess()) {
+            differences.add("extraction failed: " + result.getErrorMessage());
+            return differences;
+        }
+
+        check(differences, "wellHeader", wellHeader, result.getWellHeader());
+        check(differences, "mudProperties", mudProperties, result.getMudProperties());
+        String actualRemark = result.getRemark() != null ? result.getRemark().getRemarkText() : null;
+        check(differences, "remarkText", normalize(remarkText), normalize(actualRemark));
+        check(differences, "losses", losses, result.getLosses());
+        check(differences, "volumeTracks", volumeTracks, result.getVolumeTracks());
+        return differences;
+    }
+
+    private static void check(List<String> differences, String field, Object expected, Object actual) {
+        if (!Objects.equals(expected, actual)) {
+            differences.add(field + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Lists report their first differing row rather than both lists in full
+     */
+    private static void check(List<String> differences, String field, List<?> expected, List<?> actual) {
+        List<?> rows = actual != null ? actual : List.of();
+        for (int i = 0; i < Math.max(expected.size(), rows.size()); i++) {
+            Object expectedRow = i < expected.size() ? expected.get(i) : null;
+            Object actualRow = i < rows.size() ? rows.get(i) : null;
+            if (!Objects.equals(expectedRow, actualRow)) {
+                differences.add(field + "[" + i + "] of " + expected.size() + ": expected " + expectedRow
+                        + " but was " + actualRow + " (" + rows.size() + " extracted)");
+                return;
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        return text.replaceAll("\\s+", " ").trim();
+    }
+}
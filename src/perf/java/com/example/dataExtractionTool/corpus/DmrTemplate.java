@@ -0,0 +1,50 @@
+package com.example.dataExtractionTool.corpus;
+
+import lombok.Getter;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Report layouts modelled on the sample PDFs in the repository root: the
+ * water-based report on letter and legal paper, and the oil-based report with
+ * its own property list and date style.
+ */
+@Getter
+enum DmrTemplate {
+
+    /** Letter page, well name beside its label, no drilling info block */
+    WATER_BASED_LETTER("Dynamic Drilling Fluids", "Daily Mud Report Water-based", PDRectangle.LETTER,
+            false, false, DmrVocabulary.WATER_BASED_PROPERTIES, "MM/dd/yyyy", "HH:mm"),
+
+    /** Legal page, well name in the row under its label, as in the samples */
+    WATER_BASED_LEGAL("Dynamic Drilling Fluids", "Daily Mud Report Water-based", PDRectangle.LEGAL,
+            true, true, DmrVocabulary.WATER_BASED_PROPERTIES, "MM/dd/yyyy", "HH:mm"),
+
+    /** Legal page, oil-based properties and unpadded dates */
+    OIL_BASED_LEGAL("Wholesale", "Daily Mud Report Oil-based", PDRectangle.LEGAL,
+            true, true, DmrVocabulary.OIL_BASED_PROPERTIES, "M/d/yyyy", "HH:mm");
+
+    private final String company;
+    private final String title;
+    private final PDRectangle pageSize;
+    private final boolean wellNameBelowLabel;
+    private final boolean drillingInfo;
+    private final List<DmrVocabulary.PropertySpec> properties;
+    private final DateTimeFormatter dateFormat;
+    private final DateTimeFormatter timeFormat;
+
+    DmrTemplate(String company, String title, PDRectangle pageSize, boolean wellNameBelowLabel,
+            boolean drillingInfo, List<DmrVocabulary.PropertySpec> properties, String datePattern,
+            String timePattern) {
+        this.company = company;
+        this.title = title;
+        this.pageSize = pageSize;
+        this.wellNameBelowLabel = wellNameBelowLabel;
+        this.drillingInfo = drillingInfo;
+        this.properties = properties;
+        this.dateFormat = DateTimeFormatter.ofPattern(datePattern);
+        this.timeFormat = DateTimeFormatter.ofPattern(timePattern);
+    }
+}
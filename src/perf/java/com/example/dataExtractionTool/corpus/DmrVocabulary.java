@@ -0,0 +1,190 @@
+package com.example.dataExtractionTool.corpus;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Word pools and value ranges for synthetic reports.
+ *
+ * Pools avoid the label words the extractor keys on (Rig, Inc, deg, Azi,
+ * Field, Block, Section, REMARKS, LOSS, ...) so a generated value is never
+ * mistaken for a label.
+ */
+final class DmrVocabulary {
+
+    static final List<String> LEASES = List.of("Flintlock", "Triple Hop", "Darton Peak", "Cedar Draw",
+            "Red Hawk", "Lone Star", "Sandhill", "Buckshot", "Coyote", "Mesa Verde", "Big Bend", "Pecos",
+            "Copperhead", "Salt Flat", "Blue Mesa", "Hackberry", "Longhorn", "Sidewinder", "Tumbleweed",
+            "Ironwood");
+    static final List<String> WELL_SUFFIXES = List.of("HB", "H", "NH", "WA", "LS", "");
+    static final List<String> FIELDS = List.of("36 T4S", "Block 37", "NAD-27", "Spraberry", "Wolfcamp",
+            "Delaware", "Bone Spring", "Powder River");
+    static final List<String> TOWNSHIPS = List.of("Sec. 47", "S.8, T38N, R75W", "Sec. 40 & 45, T-2-S",
+            "Sec. 12, T1S", "S.21, T24S, R33E");
+    static final List<String> COUNTIES = List.of("Midland", "Glasscock", "Reeves", "Loving", "Converse",
+            "Howard", "Martin", "Upton", "Ward", "Lea", "Eddy");
+    static final List<String> STATES = List.of("Texas", "New Mexico", "WY", "Oklahoma");
+    static final List<String> OPERATORS = List.of("OxyRock Operating", "WRC", "Permian Crest", "High Plains Energy",
+            "Caprock Resources", "Basin Star");
+    static final List<String> CONTRACTORS = List.of("Noram", "Ensign", "Patterson", "Nabors", "Precision",
+            "Cactus");
+    static final List<String> ENGINEERS = List.of("Wil Robinson", "Adam Scott", "Chris Bradley", "Dana Ortiz",
+            "Sam Kowalski", "Lee Nguyen");
+    static final List<String> ACTIVITIES = List.of("Drill Intermediate", "Drill Production", "Drill Surface",
+            "Drill Lateral", "Tripping", "Circulate", "Run Casing", "Cementing", "Reaming");
+    static final List<String> STOCK_POINTS = List.of("Big Spring", "Midland", "Casper, WY", "Odessa", "Hobbs");
+    static final List<String> SAMPLE_SOURCES = List.of("Active", "Suction", "Reserve", "Flowline", "Pit");
+
+    static final List<String> PRODUCTS = List.of("Barite Sack", "Barite Bulk", "Bentonite Bulk", "Caustic Soda",
+            "Soda Ash", "Lime", "PAC L", "Xanthan Gum", "Walnut", "Soltex", "Pallets", "Shrink Wrap", "Diesel",
+            "Salt Gel", "MF-55", "PHPA", "Lubraglide Beads", "Mil-Seal", "Fiber Seal", "Silicone Defoamer",
+            "Oil Absorbent", "Gilsonite XMP", "Aluminum Stearate", "Sapp Sticks", "Soap Sticks");
+
+    static final List<String> ADDITION_CATEGORIES = List.of("Other mud", "Base fluid", "Water", "Products",
+            "Weight materials", "Formation", "Cuttings");
+    static final List<String> LOSS_CATEGORIES = List.of("Cuttings/retention", "Seepage", "Dump", "Shakers",
+            "Centrifuge", "Evaporation", "Pit cleaning");
+    static final List<String> VOLUME_CATEGORIES = List.of("Start vol.", "Addition", "Loss", "From storage",
+            "To storage", "End vol.", "Received");
+
+    static final List<String> REMARK_SENTENCES = List.of(
+            "Drilled ahead from %d ft to %d ft with full returns.",
+            "Circulated bottoms up and conditioned mud prior to the trip.",
+            "Added %d sx barite to raise mud weight to %s ppg.",
+            "Ran solids control equipment continuously; shakers dressed with 200 mesh screens.",
+            "Pumped a %d bbl high viscosity sweep; hole cleaning observed at the shakers.",
+            "Tripped out of the hole for a bit change and tripped back in without issue.",
+            "Seepage observed while drilling; treated the active system with fine LCM.",
+            "Held a pre-job safety meeting with the rig crew before cementing.",
+            "Transferred %d bbl from storage to the active system.",
+            "Reamed tight spots at %d ft; no further drag observed.",
+            "Ran dilution at the shakers to control low gravity solids.",
+            "Mixed a %d bbl premix of fresh water, caustic and soda ash.",
+            "Mud properties stable throughout the tour; chlorides holding at %d mg/L.",
+            "Laid dump lines to the trough for the upcoming displacement.");
+    static final List<String> TREATMENT_SENTENCES = List.of(
+            "Run dilution at the shakers as needed.",
+            "Add caustic to maintain pH above 9.",
+            "Pump 30 bbl sweeps every 500 ft or as directed.",
+            "Run lube at 16 sec/qt through the hopper.",
+            "Keep scavenger on during flow zones.",
+            "Add soda ash 5 sx every 3 hours.");
+
+    static final List<PropertySpec> WATER_BASED_PROPERTIES = List.of(
+            choice("Sample from", SAMPLE_SOURCES),
+            time("Time sample taken"),
+            numeric("Flowline T. (F)", 70, 160, 0),
+            numeric("Depth (ft)", 1000, 22000, 0),
+            numeric("MW (ppg)", 8.4, 12.5, 2),
+            numeric("Funnel visc. (sec/qt)", 27, 80, 0),
+            numeric("T. for PV (F)", 80, 150, 0),
+            numeric("PV (cP)", 1, 35, 0),
+            numeric("YP (lbf/100ft2)", 1, 30, 0),
+            dial("600/300/200"),
+            dial("100/6/3"),
+            numeric("Gel str. (10sec) (lbf/100ft2)", 1, 15, 0),
+            numeric("Gel str. (10min) (lbf/100ft2)", 1, 25, 0),
+            numeric("Gel str. (30min) (lbf/100ft2)", 1, 30, 0),
+            numeric("API filtrate (ml/30min)", 2, 100, 1),
+            numeric("API cake thickness (1/32in)", 1, 3, 0),
+            numeric("Solids (%)", 2, 22, 2),
+            numeric("Water (%)", 70, 98, 1),
+            numeric("Sand content (%)", 0, 2, 2),
+            numeric("pH", 7, 12, 1),
+            numeric("Mud alkalinity (Pm) (ml)", 0, 2, 2),
+            numeric("Filtrate alkalinity (Pf) (ml)", 0, 1.5, 2),
+            numeric("Filtrate alkalinity (Mf) (ml)", 0, 3, 2),
+            numeric("Calcium (mg/L)", 40, 2000, 0),
+            numeric("Chlorides (mg/L)", 1000, 190000, 0),
+            numeric("Total hardness (mg/L)", 100, 4000, 0),
+            numeric("Excess lime (lb/bbl)", 0, 4, 2),
+            numeric("Solids adjusted for salt (%)", 1, 12, 2),
+            numeric("Fine LCM (lb/bbl)", 0, 20, 0),
+            numeric("Coarse LCM (lb/bbl)", 0, 20, 0));
+
+    static final List<PropertySpec> OIL_BASED_PROPERTIES = List.of(
+            choice("Sample from", SAMPLE_SOURCES),
+            time("Time sample taken"),
+            numeric("Flowline T. (F)", 70, 160, 0),
+            numeric("Depth (ft)", 1000, 22000, 0),
+            numeric("MW (ppg)", 9, 15, 1),
+            numeric("Funnel visc. (sec/qt)", 40, 95, 0),
+            numeric("T. for PV (F)", 120, 150, 0),
+            numeric("PV (cP)", 10, 40, 0),
+            numeric("YP (lbf/100ft2)", 5, 25, 0),
+            dial("600/300/200"),
+            dial("100/6/3"),
+            numeric("Gel str. (10sec) (lbf/100ft2)", 4, 15, 0),
+            numeric("Gel str. (10min) (lbf/100ft2)", 8, 25, 0),
+            numeric("T. for HTHP (F)", 200, 300, 0),
+            numeric("HTHP filtrate (ml/30min)", 2, 10, 1),
+            numeric("Solids (%)", 10, 30, 2),
+            numeric("Oil (%)", 50, 75, 2),
+            numeric("Water (%)", 10, 25, 1),
+            new PropertySpec("Oil/water ratio", random -> {
+                int oil = 70 + random.nextInt(20);
+                return oil + " / " + (100 - oil);
+            }),
+            numeric("Alkalinity mud (pom) (cc/cc)", 1, 5, 1),
+            numeric("Excess lime (lb/bbl)", 1, 6, 2),
+            numeric("Chlorides whole mud (mg/L)", 20000, 60000, 0),
+            numeric("WPS (ppm)", 200000, 340000, 0),
+            numeric("CaCl2 wt. (%)", 20, 35, 2),
+            numeric("Brine density (ppg)", 9.5, 11.5, 2),
+            numeric("Electrical stability (Volt)", 400, 1200, 0),
+            numeric("Water activity (Aw)", 0.5, 0.9, 2));
+
+    private DmrVocabulary() {
+    }
+
+    static String pick(Random random, List<String> pool) {
+        return pool.get(random.nextInt(pool.size()));
+    }
+
+    static String number(Random random, double min, double max, int decimals) {
+        double value = min + random.nextDouble() * (max - min);
+        return String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+
+    private static PropertySpec numeric(String name, double min, double max, int decimals) {
+        return new PropertySpec(name, random -> number(random, min, max, decimals));
+    }
+
+    private static PropertySpec choice(String name, List<String> pool) {
+        return new PropertySpec(name, random -> pick(random, pool));
+    }
+
+    private static PropertySpec time(String name) {
+        return new PropertySpec(name,
+                random -> String.format(Locale.ROOT, "%02d:%02d", random.nextInt(24), 15 * random.nextInt(4)));
+    }
+
+    private static PropertySpec dial(String name) {
+        return new PropertySpec(name, random -> {
+            int high = 5 + random.nextInt(70);
+            int mid = high * (55 + random.nextInt(15)) / 100;
+            int low = mid * (70 + random.nextInt(20)) / 100;
+            return high + "/" + mid + "/" + low;
+        });
+    }
+
+    /**
+     * One MUD PROPERTIES row: its label and how to draw a sample value
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static final class PropertySpec {
+
+        private final String name;
+        private final Function<Random, String> values;
+
+        String sample(Random random) {
+            return values.apply(random);
+        }
+    }
+}
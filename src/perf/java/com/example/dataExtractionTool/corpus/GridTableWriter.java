@@ -0,0 +1,218 @@
+package com.example.dataExtractionTool.corpus;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws a ruled table the way report software does: every cell is boxed by
+ * lines, so Tabula's lattice (spreadsheet) detection recovers the grid.
+ *
+ * Columns share fixed boundaries; a cell may span several columns, in which
+ * case no vertical rule is drawn inside it and Tabula reports it as a single
+ * cell. Cell text wraps to the cell width and grows the row height.
+ */
+final class GridTableWriter {
+
+    private static final PDFont FONT = PDType1Font.HELVETICA;
+    private static final float FONT_SIZE = 6f;
+    private static final float LINE_HEIGHT = 7.2f;
+    private static final float PADDING = 2f;
+
+    private final float[] boundaries;
+    private final List<List<Cell>> rows = new ArrayList<>();
+    private boolean leadingColumn;
+
+    /**
+     * @param left         x of the left table edge
+     * @param columnWidths width of each grid column
+     */
+    GridTableWriter(float left, float... columnWidths) {
+        boundaries = new float[columnWidths.length + 1];
+        boundaries[0] = left;
+        for (int i = 0; i < columnWidths.length; i++) {
+            boundaries[i + 1] = boundaries[i] + columnWidths[i];
+        }
+    }
+
+    /**
+     * Keep the first grid column empty in every row; cells added afterwards
+     * start at the second column
+     */
+    GridTableWriter withLeadingColumn() {
+        leadingColumn = true;
+        return this;
+    }
+
+    int getColumnCount() {
+        return boundaries.length - (leadingColumn ? 2 : 1);
+    }
+
+    /**
+     * Add a row; missing trailing columns are filled with blank cells
+     */
+    GridTableWriter row(Cell... cells) {
+        List<Cell> row = new ArrayList<>();
+        for (Cell cell : cells) {
+            if (cell.getText().isEmpty()) {
+                // Tabula numbers merged cells left to right, so a spanning cell
+                // shifts every column after it; blank runs stay separate cells
+                for (int i = 0; i < cell.getSpan(); i++) {
+                    row.add(Cell.blank());
+                }
+            } else {
+                row.add(cell);
+            }
+        }
+        int used = row.stream().mapToInt(Cell::getSpan).sum();
+        if (used > getColumnCount()) {
+            throw new IllegalArgumentException("Row spans " + used + " of " + getColumnCount() + " columns");
+        }
+        for (int i = used; i < getColumnCount(); i++) {
+            row.add(Cell.blank());
+        }
+        if (leadingColumn) {
+            row.add(0, Cell.blank());
+        }
+        rows.add(row);
+        return this;
+    }
+
+    float getHeight() throws IOException {
+        float height = 0;
+        for (List<Cell> row : rows) {
+            height += rowHeight(row);
+        }
+        return height;
+    }
+
+    /**
+     * Draw the table with its top edge at the given y
+     */
+    void draw(PDPageContentStream stream, float top) throws IOException {
+        float left = boundaries[0];
+        float right = boundaries[boundaries.length - 1];
+        stream.setLineWidth(0.5f);
+
+        float y = top;
+        for (List<Cell> row : rows) {
+            float height = rowHeight(row);
+            line(stream, left, y, right, y);
+
+            int col = 0;
+            for (Cell cell : row) {
+                float x = boundaries[col];
+                float width = boundaries[col + cell.getSpan()] - x;
+                line(stream, x, y, x, y - height);
+                text(stream, wrap(cell.getText(), width), x + PADDING, y - PADDING - FONT_SIZE);
+                col += cell.getSpan();
+            }
+            line(stream, right, y, right, y - height);
+            y -= height;
+        }
+        line(stream, left, y, right, y);
+    }
+
+    private float rowHeight(List<Cell> row) throws IOException {
+        int lines = 1;
+        int col = 0;
+        for (Cell cell : row) {
+            float width = boundaries[col + cell.getSpan()] - boundaries[col];
+            lines = Math.max(lines, wrap(cell.getText(), width).size());
+            col += cell.getSpan();
+        }
+        return lines * LINE_HEIGHT + 2 * PADDING;
+    }
+
+    private static List<String> wrap(String text, float cellWidth) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (text.isEmpty()) {
+            return lines;
+        }
+
+        float maxWidth = cellWidth - 2 * PADDING;
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split(" ")) {
+            String candidate = line.length() == 0 ? word : line + " " + word;
+            if (width(candidate) <= maxWidth) {
+                line.setLength(0);
+                line.append(candidate);
+                continue;
+            }
+            if (line.length() > 0) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            // A word wider than the cell is broken where it overflows
+            while (width(word) > maxWidth) {
+                int cut = word.length() - 1;
+                while (cut > 1 && width(word.substring(0, cut)) > maxWidth) {
+                    cut--;
+                }
+                lines.add(word.substring(0, cut));
+                word = word.substring(cut);
+            }
+            line.append(word);
+        }
+        if (line.length() > 0) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static float width(String text) throws IOException {
+        return FONT.getStringWidth(text) / 1000f * FONT_SIZE;
+    }
+
+    private static void line(PDPageContentStream stream, float x1, float y1, float x2, float y2)
+            throws IOException {
+        stream.moveTo(x1, y1);
+        stream.lineTo(x2, y2);
+        stream.stroke();
+    }
+
+    private static void text(PDPageContentStream stream, List<String> lines, float x, float y)
+            throws IOException {
+        for (int i = 0; i < lines.size(); i++) {
+            stream.beginText();
+            stream.setFont(FONT, FONT_SIZE);
+            stream.newLineAtOffset(x, y - i * LINE_HEIGHT);
+            stream.showText(lines.get(i));
+            stream.endText();
+        }
+    }
+
+    /**
+     * Text of one cell and the number of grid columns it covers
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class Cell {
+
+        private final String text;
+        private final int span;
+
+        static Cell of(String text) {
+            return new Cell(text == null ? "" : text, 1);
+        }
+
+        static Cell span(String text, int span) {
+            return new Cell(text == null ? "" : text, span);
+        }
+
+        static Cell blank() {
+            return new Cell("", 1);
+        }
+
+        static Cell blank(int span) {
+            return new Cell("", span);
+        }
+    }
+}
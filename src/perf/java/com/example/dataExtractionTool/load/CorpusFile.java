@@ -0,0 +1,44 @@
+package com.example.dataExtractionTool.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * One PDF of the load corpus, held in memory for the whole run
+ */
+@Getter
+@RequiredArgsConstructor
+final class CorpusFile {
+
+    private final String name;
+    private final byte[] bytes;
+
+    /**
+     * Read every PDF directly inside the directory, in name order
+     */
+    static List<CorpusFile> load(Path directory) throws IOException {
+        List<Path> pdfs;
+        try (Stream<Path> files = Files.list(directory)) {
+            pdfs = files.filter(file -> file.getFileName().toString().toLowerCase().endsWith(".pdf"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (pdfs.isEmpty()) {
+            throw new IllegalArgumentException("No PDF files in " + directory.toAbsolutePath());
+        }
+
+        List<CorpusFile> corpus = new ArrayList<>(pdfs.size());
+        for (Path pdf : pdfs) {
+            corpus.add(new CorpusFile(pdf.getFileName().toString(), Files.readAllBytes(pdf)));
+        }
+        return corpus;
+    }
+}
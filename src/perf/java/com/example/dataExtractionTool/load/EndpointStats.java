@@ -0,0 +1,109 @@
+package com.example.dataExtractionTool.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and failures of one endpoint during one phase.
+ *
+ * Latency runs from the moment a request was due to be sent, not from when
+ * it was sent, so a stalled server shows up as latency rather than as fewer
+ * requests.
+ */
+final class EndpointStats {
+
+    @Getter
+    private final LoadEndpoint endpoint;
+    private long[] latencies = new long[1024];
+    private int count;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    EndpointStats(LoadEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        requests.increment();
+        successes.increment();
+        addLatency(latencyNanos);
+    }
+
+    /**
+     * @param reason HTTP status or exception type, used to group failures
+     */
+    void recordError(String reason, long latencyNanos) {
+        recordRejected(reason);
+        addLatency(latencyNanos);
+    }
+
+    /**
+     * A request that was never sent; it counts as an error without a latency
+     */
+    void recordRejected(String reason) {
+        requests.increment();
+        errors.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    private synchronized void addLatency(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    /**
+     * Summarize the phase; throughput counts successful requests only
+     */
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((reason, adder) -> errorCounts.put(reason, adder.sum()));
+        long failed = errorCounts.values().stream().mapToLong(Long::longValue).sum();
+        long total = requests.sum();
+
+        return new Summary(endpoint.getKey(), total, successes.sum() / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]),
+                total == 0 ? 0 : 100.0 * failed / total, errorCounts);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return millis(sorted[Math.max(0, rank)]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Per-endpoint results; latencies in milliseconds
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static final class Summary {
+
+        private final String endpoint;
+        private final long requests;
+        private final double throughput;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+        private final double max;
+        private final double errorRate;
+        private final Map<String, Long> errors;
+    }
+}
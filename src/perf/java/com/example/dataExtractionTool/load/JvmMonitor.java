@@ -0,0 +1,96 @@
+package com.example.dataExtractionTool.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap high-water mark and GC activity of the JVM over one phase.
+ *
+ * The application runs in the harness JVM, so the heap includes the corpus
+ * and the harness's own buffers; the corpus is loaded once before the first
+ * phase, so phases stay comparable. Used heap is sampled every few
+ * milliseconds, and GC totals come from the collector beans, leaving out
+ * concurrent cycles that do not stop the application.
+ */
+final class JvmMonitor implements AutoCloseable {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 5;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final AtomicLong heapHighWater = new AtomicLong();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    private long gcCountAtStart;
+    private long gcMillisAtStart;
+
+    JvmMonitor() {
+        sampler = new Thread(this::sample, "load-heap-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    /**
+     * Start a new phase: forget the previous high-water mark and GC totals
+     */
+    void reset() {
+        heapHighWater.set(memory.getHeapMemoryUsage().getUsed());
+        gcCountAtStart = gcCount();
+        gcMillisAtStart = gcMillis();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(Math.max(heapHighWater.get(), memory.getHeapMemoryUsage().getUsed()),
+                gcCount() - gcCountAtStart, gcMillis() - gcMillisAtStart);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        sampler.interrupt();
+    }
+
+    private void sample() {
+        while (running) {
+            heapHighWater.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            try {
+                Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private long gcCount() {
+        return collectors.stream().filter(JvmMonitor::isPausing)
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private long gcMillis() {
+        return collectors.stream().filter(JvmMonitor::isPausing)
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static boolean isPausing(GarbageCollectorMXBean collector) {
+        return !collector.getName().contains("Concurrent") && !collector.getName().contains("Cycles");
+    }
+
+    /**
+     * JVM figures for one phase
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static final class Snapshot {
+
+        private final long heapHighWaterBytes;
+        private final long gcPauses;
+        private final long gcPauseMillis;
+    }
+}
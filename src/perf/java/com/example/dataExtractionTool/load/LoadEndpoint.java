@@ -0,0 +1,39 @@
+package com.example.dataExtractionTool.load;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The REST endpoints the harness drives, with the multipart field each one
+ * reads its upload from.
+ */
+@Getter
+enum LoadEndpoint {
+
+    EXTRACT("extract", "/api/extract", "file", false),
+    EXTRACT_JSON("extract-json", "/api/extract-json", "file", false),
+    EXTRACT_MUD_REPORT("extract-mud-report", "/api/extract-mud-report", "file", false),
+    EXTRACT_MUD_REPORT_BATCH("extract-mud-report-batch", "/api/extract-mud-report-batch", "files", true);
+
+    private final String key;
+    private final String path;
+    private final String field;
+    private final boolean batch;
+
+    LoadEndpoint(String key, String path, String field, boolean batch) {
+        this.key = key;
+        this.path = path;
+        this.field = field;
+        this.batch = batch;
+    }
+
+    static LoadEndpoint fromKey(String key) {
+        String normalized = key.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint: " + key));
+    }
+}
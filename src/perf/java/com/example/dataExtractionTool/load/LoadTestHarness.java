@@ -0,0 +1,289 @@
+package com.example.dataExtractionTool.load;
+
+import com.example.dataExtractionTool.DataExtractionToolApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the application in this JVM and drives its extraction endpoints over
+ * loopback HTTP at a fixed arrival rate, then reports throughput, latency
+ * percentiles, error rate, heap high-water mark and GC pauses.
+ *
+ * Each endpoint first runs alone, so heap and GC figures belong to it; the
+ * mixed phase then runs all of them at once, as when several rigs upload at
+ * shift change. Arrivals are open-loop: requests go out on schedule whether
+ * or not earlier ones have answered. Nothing leaves the machine.
+ */
+public class LoadTestHarness {
+
+    /**
+     * Application settings for a run, passed as command-line properties so
+     * they win over application.properties; "--" arguments override them
+     */
+    private static final Map<String, String> APPLICATION_DEFAULTS = Map.of(
+            "server.port", "0",
+            "spring.main.banner-mode", "off",
+            "logging.level.com.example.dataExtractionTool", "WARN",
+            "pdf.export.output.directory", "target/load/output",
+            // Repeated uploads of a small corpus would otherwise be answered from the cache
+            "pdf.result-cache.enabled", "false");
+
+    private static final long ARRIVAL_SEED = 42L;
+
+    private final LoadTestOptions options;
+    private final List<CorpusFile> corpus;
+    private final List<byte[]> singleFileBodies;
+    private final HttpClient httpClient;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger nextFile = new AtomicInteger();
+    private URI baseUri;
+
+    LoadTestHarness(LoadTestOptions options, List<CorpusFile> corpus) {
+        this.options = options;
+        this.corpus = corpus;
+        this.singleFileBodies = corpus.stream()
+                .map(file -> MultipartBody.of("file", List.of(file)))
+                .collect(Collectors.toList());
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService clientExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        List<CorpusFile> corpus = CorpusFile.load(options.getCorpus() != null ? options.getCorpus() : Paths.get("."));
+        System.out.printf(Locale.ROOT, "Corpus: %d PDFs, %.1f MB%n", corpus.size(),
+                corpus.stream().mapToLong(file -> file.getBytes().length).sum() / 1_048_576.0);
+
+        ConfigurableApplicationContext application = SpringApplication.run(DataExtractionToolApplication.class,
+                applicationArgs(options));
+        List<PhaseResult> results;
+        try {
+            LoadTestHarness harness = new LoadTestHarness(options, corpus);
+            harness.baseUri = URI.create("http://127.0.0.1:"
+                    + application.getEnvironment().getProperty("local.server.port"));
+            results = harness.run();
+        } finally {
+            SpringApplication.exit(application);
+        }
+
+        if (options.getReport() != null) {
+            Files.createDirectories(options.getReport().toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(options.getReport().toFile(), results);
+            System.out.println("Report written to " + options.getReport().toAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    private static String[] applicationArgs(LoadTestOptions options) {
+        Map<String, String> properties = new TreeMap<>(APPLICATION_DEFAULTS);
+        for (String arg : options.getApplicationArgs()) {
+            int separator = arg.indexOf('=');
+            properties.put(separator < 0 ? arg.substring(2) : arg.substring(2, separator),
+                    separator < 0 ? "true" : arg.substring(separator + 1));
+        }
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    List<PhaseResult> run() throws InterruptedException {
+        List<PhaseResult> results = new ArrayList<>();
+        try (JvmMonitor monitor = new JvmMonitor()) {
+            if (!options.getWarmup().isZero()) {
+                System.out.printf(Locale.ROOT, "Warming up for %d s%n", options.getWarmup().toSeconds());
+                runPhase("warmup", options.getEndpoints(), options.getWarmup(), monitor);
+            }
+            if (options.isIsolatedPhases()) {
+                for (LoadEndpoint endpoint : options.getEndpoints()) {
+                    results.add(print(runPhase(endpoint.getKey(), EnumSet.of(endpoint), options.getDuration(),
+                            monitor)));
+                }
+            }
+            if (options.isMixedPhase()) {
+                results.add(print(runPhase("mixed", options.getEndpoints(), options.getDuration(), monitor)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Drive the endpoints for the given time, one arrival thread each, and
+     * wait for the requests still in flight before summarizing
+     */
+    private PhaseResult runPhase(String name, Collection<LoadEndpoint> endpoints, Duration duration,
+            JvmMonitor monitor) throws InterruptedException {
+        System.gc();
+        monitor.reset();
+        long start = System.nanoTime();
+
+        List<EndpointStats> stats = new ArrayList<>();
+        List<Thread> drivers = new ArrayList<>();
+        int index = 0;
+        for (LoadEndpoint endpoint : endpoints) {
+            EndpointStats endpointStats = new EndpointStats(endpoint);
+            Random random = new Random(ARRIVAL_SEED + index++);
+            Thread driver = new Thread(() -> drive(endpointStats, start, duration.toNanos(), random),
+                    "load-" + endpoint.getKey());
+            driver.setDaemon(true);
+            stats.add(endpointStats);
+            drivers.add(driver);
+        }
+        drivers.forEach(Thread::start);
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+
+        long drainDeadline = System.nanoTime() + options.getTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        JvmMonitor.Snapshot jvm = monitor.snapshot();
+        return new PhaseResult(name, elapsedSeconds,
+                stats.stream().map(s -> s.summarize(elapsedSeconds)).collect(Collectors.toList()),
+                jvm.getHeapHighWaterBytes() / 1_048_576.0, jvm.getGcPauses(), jvm.getGcPauseMillis());
+    }
+
+    private void drive(EndpointStats stats, long start, long durationNanos, Random random) {
+        double meanIntervalNanos = 1e9 / options.getRate();
+        long due = start;
+        while (due - start < durationNanos) {
+            long wait = due - System.nanoTime();
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                wait = due - System.nanoTime();
+            }
+            send(stats, due);
+
+            double interval = options.isPoisson()
+                    ? -Math.log(1.0 - random.nextDouble()) * meanIntervalNanos
+                    : meanIntervalNanos;
+            due += (long) interval;
+        }
+    }
+
+    private void send(EndpointStats stats, long due) {
+        if (inFlight.incrementAndGet() > options.getMaxInFlight()) {
+            inFlight.decrementAndGet();
+            stats.recordRejected("max-in-flight");
+            return;
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(stats.getEndpoint().getPath()))
+                .timeout(options.getTimeout())
+                .header("Content-Type", MultipartBody.CONTENT_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body(stats.getEndpoint())))
+                .build();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - due;
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause()
+                                : failure;
+                        stats.recordError(cause.getClass().getSimpleName(), latency);
+                    } else if (response.statusCode() >= 400) {
+                        stats.recordError("HTTP " + response.statusCode(), latency);
+                    } else {
+                        stats.recordSuccess(latency);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    /**
+     * Corpus files go out round-robin; a batch takes the next batch-size files
+     */
+    private byte[] body(LoadEndpoint endpoint) {
+        if (!endpoint.isBatch()) {
+            return singleFileBodies.get(Math.floorMod(nextFile.getAndIncrement(), corpus.size()));
+        }
+        List<CorpusFile> files = new ArrayList<>(options.getBatchSize());
+        for (int i = 0; i < options.getBatchSize(); i++) {
+            files.add(corpus.get(Math.floorMod(nextFile.getAndIncrement(), corpus.size())));
+        }
+        return MultipartBody.of(endpoint.getField(), files);
+    }
+
+    private PhaseResult print(PhaseResult result) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Phase %s: %.1f s at %s req/s per endpoint (%s arrivals)%n",
+                result.getPhase(), result.getElapsedSeconds(), options.getRate(),
+                options.isPoisson() ? "poisson" : "fixed");
+        System.out.printf(Locale.ROOT, "%-26s %9s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (EndpointStats.Summary summary : result.getEndpoints()) {
+            System.out.printf(Locale.ROOT, "%-26s %9d %9.2f %9.1f %9.1f %9.1f %9.1f %7.2f%%%n",
+                    summary.getEndpoint(), summary.getRequests(), summary.getThroughput(), summary.getP50(),
+                    summary.getP95(), summary.getP99(), summary.getMax(), summary.getErrorRate());
+            summary.getErrors().forEach((reason, count) ->
+                    System.out.printf(Locale.ROOT, "%28s %d x %s%n", "", count, reason));
+        }
+        System.out.printf(Locale.ROOT, "heap high-water %.1f MB, %d GC pauses totalling %d ms%n",
+                result.getHeapHighWaterMb(), result.getGcPauses(), result.getGcPauseMillis());
+        return result;
+    }
+
+    /**
+     * Results of one phase, also written to the JSON report
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static final class PhaseResult {
+
+        private final String phase;
+        private final double elapsedSeconds;
+        private final List<EndpointStats.Summary> endpoints;
+        private final double heapHighWaterMb;
+        private final long gcPauses;
+        private final long gcPauseMillis;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.dataExtractionTool.load;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Harness settings, given as key=value arguments. Arguments starting with
+ * "--" are application properties and go to Spring untouched.
+ */
+@Getter
+final class LoadTestOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadTestHarness [key=value ...] [--spring.property=value ...]",
+            "  corpus=<dir>            PDFs to upload (default: the sample PDFs in the working directory)",
+            "  endpoints=<a,b,...>     extract, extract-json, extract-mud-report, extract-mud-report-batch (default: all)",
+            "  rate=<n>                requests per second per endpoint (default: 2)",
+            "  arrival=poisson|fixed   spacing of requests (default: poisson)",
+            "  duration=<seconds>      measured time per phase (default: 30)",
+            "  warmup=<seconds>        unmeasured load before the first phase (default: 10)",
+            "  phases=isolated,mixed   each endpoint alone, then all at once (default: both)",
+            "  batch-size=<n>          files per batch request (default: 4)",
+            "  max-in-flight=<n>       requests outstanding before new ones fail (default: 256)",
+            "  timeout=<seconds>       per-request timeout (default: 120)",
+            "  report=<file>           also write the results as JSON");
+
+    private Path corpus;
+    private Set<LoadEndpoint> endpoints = EnumSet.allOf(LoadEndpoint.class);
+    private double rate = 2.0;
+    private boolean poisson = true;
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration warmup = Duration.ofSeconds(10);
+    private boolean isolatedPhases = true;
+    private boolean mixedPhase = true;
+    private int batchSize = 4;
+    private int maxInFlight = 256;
+    private Duration timeout = Duration.ofSeconds(120);
+    private Path report;
+    private final List<String> applicationArgs = new ArrayList<>();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                options.applicationArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.set(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        if (!options.isolatedPhases && !options.mixedPhase) {
+            throw new IllegalArgumentException("phases must name isolated, mixed or both");
+        }
+        return options;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case "corpus":
+                corpus = Paths.get(value);
+                break;
+            case "endpoints":
+                endpoints = EnumSet.noneOf(LoadEndpoint.class);
+                Arrays.stream(value.split(",")).map(LoadEndpoint::fromKey).forEach(endpoints::add);
+                break;
+            case "rate":
+                rate = positive(key, Double.parseDouble(value));
+                break;
+            case "arrival":
+                if (!value.equalsIgnoreCase("poisson") && !value.equalsIgnoreCase("fixed")) {
+                    throw new IllegalArgumentException("arrival must be poisson or fixed");
+                }
+                poisson = value.equalsIgnoreCase("poisson");
+                break;
+            case "duration":
+                duration = Duration.ofSeconds((long) positive(key, Long.parseLong(value)));
+                break;
+            case "warmup":
+                warmup = Duration.ofSeconds(Long.parseLong(value));
+                break;
+            case "phases":
+                List<String> phases = Arrays.asList(value.toLowerCase(Locale.ROOT).split(","));
+                isolatedPhases = phases.contains("isolated");
+                mixedPhase = phases.contains("mixed");
+                break;
+            case "batch-size":
+                batchSize = (int) positive(key, Integer.parseInt(value));
+                break;
+            case "max-in-flight":
+                maxInFlight = (int) positive(key, Integer.parseInt(value));
+                break;
+            case "timeout":
+                timeout = Duration.ofSeconds((long) positive(key, Long.parseLong(value)));
+                break;
+            case "report":
+                report = Paths.get(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option: " + key);
+        }
+    }
+
+    private static double positive(String key, double value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(key + " must be positive");
+        }
+        return value;
+    }
+}
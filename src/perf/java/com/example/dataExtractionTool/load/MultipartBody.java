@@ -0,0 +1,36 @@
+package com.example.dataExtractionTool.load;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * multipart/form-data request bodies carrying PDF uploads, built in memory so
+ * encoding stays out of the measured time where possible.
+ */
+final class MultipartBody {
+
+    static final String BOUNDARY = "----dmr-load-test-boundary";
+    static final String CONTENT_TYPE = "multipart/form-data; boundary=" + BOUNDARY;
+
+    private MultipartBody() {
+    }
+
+    static byte[] of(String field, List<CorpusFile> files) {
+        int size = files.stream().mapToInt(file -> file.getBytes().length + 256).sum();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(size);
+        for (CorpusFile file : files) {
+            write(body, "--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + field + "\"; filename=\"" + file.getName() + "\"\r\n"
+                    + "Content-Type: application/pdf\r\n\r\n");
+            body.writeBytes(file.getBytes());
+            write(body, "\r\n");
+        }
+        write(body, "--" + BOUNDARY + "--\r\n");
+        return body.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream body, String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.dataExtractionTool.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Services wired by hand for the benchmarks, without a Spring context.
+ *
+ * The sample PDFs are read from the directory in the benchmark.pdf.dir system
+ * property, by default the working directory (the project root under
+ * exec:exec).
+ */
+final class BenchmarkFixtures {
+
+    /** Short benchmark keys for the sample PDFs in the repository root */
+    static final Map<String, String> SAMPLE_PDFS = Map.of(
+            "mud-report-11-11-25", "11-11-25 Mud Report.pdf",
+            "file-2561", "FILE_2561 3.pdf",
+            "oxyrock-dmr-1", "OxyRock, Flintlock F #14HB, NorAm 27, DMR #1, 01-17-26 PM.pdf");
+
+    private BenchmarkFixtures() {
+    }
+
+    static ExtractionMetrics metrics() {
+        return new ExtractionMetrics(new SimpleMeterRegistry(), 64);
+    }
+
+    static RemarksTextExtractor remarksTextExtractor() {
+        RemarksTextExtractor extractor = new RemarksTextExtractor();
+        ReflectionTestUtils.setField(extractor, "extractionEnabled", true);
+        return extractor;
+    }
+
+    /**
+     * Extraction service with sequential detection and the result cache off,
+     * so every call runs the whole pipeline
+     */
+    static PdfExtractionService extractionService(ExtractionMetrics metrics) {
+        return new PdfExtractionService(remarksTextExtractor(),
+                new TableDetectionService(false, 1, metrics),
+                new ExtractionPlanCache(64),
+                new ExtractionResultCache(false, 1, false, null, new ReportDateTimes("", "", 256)),
+                metrics,
+                new ExtractionTraceRecorder(1, 0.0, 0));
+    }
+
+    static byte[] samplePdf(String key) throws IOException {
+        String fileName = SAMPLE_PDFS.get(key);
+        if (fileName == null) {
+            throw new IllegalArgumentException("Unknown sample PDF: " + key);
+        }
+        Path path = Paths.get(System.getProperty("benchmark.pdf.dir", "."), fileName);
+        return Files.readAllBytes(path);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.dto.MudReportDTO;
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of an extraction result to the unified format, built as maps or
+ * streamed as JSON, and to MudReportDTOs.
+ * Each sample PDF is extracted once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({ "mud-report-11-11-25", "file-2561", "oxyrock-dmr-1" })
+    private String pdf;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private PdfExtractionResult result;
+    private FileExportService fileExportService;
+    private MudReportMappingService mudReportMappingService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ExtractionMetrics metrics = BenchmarkFixtures.metrics();
+        result = BenchmarkFixtures.extractionService(metrics)
+                .extractData(PdfInput.ofBytes(pdf, BenchmarkFixtures.samplePdf(pdf)));
+        if (!result.isSuccess()) {
+            throw new IllegalStateException("Could not extract " + pdf + ": " + result.getErrorMessage());
+        }
+
+        PropertyDictionary propertyDictionary = new PropertyDictionary(1024);
+        ReportDateTimes reportDateTimes = new ReportDateTimes("", "", 256);
+        mudReportMappingService = new MudReportMappingService(metrics, propertyDictionary, reportDateTimes);
+        fileExportService = new FileExportService(mudReportMappingService,
+                new ExportWriter(metrics, null, false, 1, 1, 0, "none", "files"), propertyDictionary,
+                reportDateTimes);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> transformToUnifiedFormat() {
+        return fileExportService.transformToUnifiedFormat(result);
+    }
+
+    @Benchmark
+    public byte[] writeUnifiedFormat() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            fileExportService.writeUnifiedFormat(result, generator);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<MudReportDTO> transformToMudReportDTOs() {
+        return mudReportMappingService.transformToMudReportDTOs(result);
+    }
+
+    @Benchmark
+    public List<MudReportDTO> transformAllSamplesToMudReportDTOs() {
+        return mudReportMappingService.transformToMudReportDTOs(result, true);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import com.example.dataExtractionTool.util.TableIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import technology.tabula.Table;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end extraction of each sample PDF, and the stages that dominate it:
+ * the main-table section extractors and the remarks text pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PdfExtractionBenchmark {
+
+    @Param({ "mud-report-11-11-25", "file-2561", "oxyrock-dmr-1" })
+    private String pdf;
+
+    private byte[] bytes;
+    private PdfExtractionService extractionService;
+    private RemarksTextExtractor remarksTextExtractor;
+    private Table mainTable;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        bytes = BenchmarkFixtures.samplePdf(pdf);
+        extractionService = BenchmarkFixtures.extractionService(BenchmarkFixtures.metrics());
+        remarksTextExtractor = BenchmarkFixtures.remarksTextExtractor();
+
+        // Pre-parse the main Tabula table once for the section benchmark
+        TableDetectionService detection = new TableDetectionService(false, 1, BenchmarkFixtures.metrics());
+        try (PdfExtractionContext setupContext = PdfExtractionContext.open(PdfInput.ofBytes(pdf, bytes))) {
+            List<Table> tables = new ArrayList<>();
+            for (PageTables pageTables : detection.detectTables(setupContext.getPages())) {
+                tables.addAll(pageTables.getTables());
+            }
+            mainTable = extractionService.findMainTable(tables);
+        }
+    }
+
+    @Benchmark
+    public PdfExtractionResult extractData() {
+        return extractionService.extractData(PdfInput.ofBytes(pdf, bytes));
+    }
+
+    @Benchmark
+    public PdfExtractionResult sectionExtractors() {
+        PdfExtractionResult result = new PdfExtractionResult(pdf);
+        TableIndex index = PdfExtractionService.indexSections(mainTable);
+        extractionService.processMainTable(index, result, ExtractionTrace.DISABLED);
+        return result;
+    }
+
+    @Benchmark
+    public String remarksText(LoadedDocument document) {
+        return remarksTextExtractor.extractRemarks(document.context);
+    }
+
+    /**
+     * Document parsed fresh for every invocation, so the remarks pass does not
+     * hit text layers cached by an earlier call. A remarks pass takes tens of
+     * milliseconds, which keeps the per-invocation setup cost negligible.
+     */
+    @State(Scope.Thread)
+    public static class LoadedDocument {
+
+        private PdfExtractionContext context;
+
+        @Setup(Level.Invocation)
+        public void open(PdfExtractionBenchmark benchmark) throws IOException {
+            context = PdfExtractionContext.open(PdfInput.ofBytes(benchmark.pdf, benchmark.bytes));
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() throws IOException {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.dataExtractionTool.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TableParser utilities over lines shaped like the cells and rows of a
+ * Daily Mud Report
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableParserBenchmark {
+
+    private final List<String> lines = List.of(
+            "MUD PROPERTIES    Sample 1    Sample 2    Sample 3",
+            "Sample From       Pit         Flowline",
+            "Time Sample Taken   14:30     22:15",
+            "Mud Weight  (ppg)   10.4   10.5",
+            "Funnel Viscosity (s/qt)   52   54",
+            "Cost   $22,496.80",
+            "REMARKS",
+            "Drilled ahead to 8,450 ft.  Added 40 sx barite.",
+            "Circulated and conditioned mud   prior to trip.",
+            "LOSS",
+            "Product  Initial  Received  Used",
+            "Diesel   10433    8740      1693");
+
+    private final List<String> values = List.of("10.4", "-122", "$22,496.80", "52 s/qt", "0.00", "n/a");
+
+    @Benchmark
+    public void cleanText(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(TableParser.cleanText(line));
+        }
+    }
+
+    @Benchmark
+    public void splitByMultipleSpaces(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(TableParser.splitByMultipleSpaces(line));
+        }
+    }
+
+    @Benchmark
+    public void isTableHeader(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(TableParser.isTableHeader(line));
+        }
+    }
+
+    @Benchmark
+    public void extractNumericValue(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(TableParser.extractNumericValue(value));
+        }
+    }
+
+    @Benchmark
+    public List<String> extractLinesBetween() {
+        return TableParser.extractLinesBetween(lines, "REMARKS", "LOSS");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.dataExtractionTool.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumericValuesTest {
+
+    @Test
+    void testParse() {
+        NumericValues numbers = NumericValues.parse("9.6", " 1,250 ", "clean", null, "  ", "NaN");
+
+        assertEquals(6, numbers.size());
+        assertTrue(numbers.isNumber(0));
+        assertEquals(9.6, numbers.get(0));
+
+        assertFalse(numbers.isNumber(1));
+        assertTrue(numbers.isLenientNumber(1));
+        assertEquals(1250.0, numbers.get(1));
+
+        assertTrue(numbers.isPresent(2));
+        assertFalse(numbers.isLenientNumber(2));
+        assertTrue(Double.isNaN(numbers.get(2)));
+
+        assertFalse(numbers.isPresent(3));
+        assertFalse(numbers.isPresent(4));
+
+        // A literal NaN is a number, unlike a missing value
+        assertTrue(numbers.isNumber(5));
+        assertTrue(Double.isNaN(numbers.get(5)));
+    }
+
+    @Test
+    void testSampleChangeDropsNumbers() {
+        MudProperty property = MudProperty.builder().propertyName("MW (ppg)").sample1("9.6").build();
+        assertEquals(9.6, property.getNumericSamples().get(0));
+
+        property.setSample1("10.1");
+        assertEquals(10.1, property.getNumericSamples().get(0));
+        assertFalse(property.getNumericSamples().isPresent(1));
+    }
+}
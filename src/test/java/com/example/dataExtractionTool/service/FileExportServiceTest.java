@@ -0,0 +1,61 @@
+package com.example.dataExtractionTool.service;
+
+import com.example.dataExtractionTool.model.MudProperty;
+import com.example.dataExtractionTool.model.PdfExtractionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileExportServiceTest {
+
+    private final FileExportService service = new FileExportService(null, null, new PropertyDictionary(1024),
+            new ReportDateTimes("", "", 256));
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testStreamedUnifiedFormatMatchesMaps() throws Exception {
+        PdfExtractionResult result = new PdfExtractionResult("report.pdf");
+        result.getWellHeader().setWellName("Flintlock F #14HB");
+        result.getWellHeader().setReportDate("10/24/2025");
+        result.getWellHeader().setReportTime("16:00");
+        result.getWellHeader().setMd("16635");
+        result.getWellHeader().setApiWellNo(" ");
+        result.getRemark().setRemarkText("Drilled ahead to \"TD\"");
+        result.getMudProperties().add(property("MW (ppg)", "9.6", "9.7", null, ""));
+        result.getMudProperties().add(property("Depth (ft)", null, "16600", "", null));
+        // Same key as an earlier property, and the same key as a header field
+        result.getMudProperties().add(property("Gel str. (10sec) (lbf/100ft2)", "4", null, null, null));
+        result.getMudProperties().add(property("Gel str. (10sec)", "5", "6", null, null));
+        result.getMudProperties().add(property("Md", "16700", null, null, null));
+        result.getMudProperties().add(property("YP (lbf/100ft2)", " 1,250 ", "+18", "1e1", null));
+        result.getMudProperties().add(property("Appearance", "clean", "NaN", null, null));
+
+        assertStreamedMatches(result, objectMapper.writer());
+        assertStreamedMatches(result, objectMapper.writer(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    @Test
+    void testStreamedUnifiedFormatWithoutSamples() throws Exception {
+        PdfExtractionResult result = new PdfExtractionResult("empty.pdf");
+        result.setWellHeader(null);
+        result.getMudProperties().add(property("MW (ppg)", "", null, " ", null));
+
+        assertStreamedMatches(result, objectMapper.writer());
+        assertStreamedMatches(result, objectMapper.writer(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    private static MudProperty property(String name, String sample1, String sample2, String sample3,
+            String sample4) {
+        return MudProperty.builder().propertyName(name)
+                .sample1(sample1).sample2(sample2).sample3(sample3).sample4(sample4)
+                .build();
+    }
+
+    private void assertStreamedMatches(PdfExtractionResult result, ObjectWriter writer) throws Exception {
+        assertEquals(writer.writeValueAsString(service.transformToUnifiedFormat(result)),
+                writer.writeValueAsString(service.unifiedFormat(result)));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.dataExtractionTool.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportDateTimesTest {
+
+    private final ReportDateTimes reportDateTimes = new ReportDateTimes("UTC",
+            "NorAm=America/Chicago, NorAm 27=America/Denver", 2);
+
+    @Test
+    void testEpochInRigZone() {
+        long utc = LocalDateTime.of(2025, 9, 26, 6, 0).atZone(ZoneId.of("UTC")).toInstant().toEpochMilli();
+        assertEquals(utc, reportDateTimes.toEpochMillis("9/26/2025", "6:00", "Unknown 1"));
+        assertEquals(utc, reportDateTimes.toEpochMillis(" 09/26/2025 ", "06:00", null));
+
+        long chicago = LocalDateTime.of(2025, 9, 26, 6, 0).atZone(ZoneId.of("America/Chicago"))
+                .toInstant().toEpochMilli();
+        assertEquals(chicago, reportDateTimes.toEpochMillis("9/26/2025", "06:00", "NorAm 12"));
+        assertEquals(ZoneId.of("America/Denver"), reportDateTimes.zoneOf("noram 27"));
+    }
+
+    @Test
+    void testUnparseableIsNull() {
+        assertNull(reportDateTimes.toEpochMillis("26.09.2025", "06:00", null));
+        assertNull(reportDateTimes.toEpochMillis("9/26/2025", "late", null));
+        assertNull(reportDateTimes.toEpochMillis(null, "06:00", null));
+        // Still parses once the memo has been cleared
+        assertNotNull(reportDateTimes.toEpochMillis("9/27/2025", "07:00", null));
+        assertNotNull(reportDateTimes.toEpochMillis("9/28/2025", "08:00", null));
+        assertNotNull(reportDateTimes.toEpochMillis("9/26/2025", "06:00", null));
+    }
+}
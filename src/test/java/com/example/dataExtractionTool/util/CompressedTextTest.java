@@ -0,0 +1,23 @@
+package com.example.dataExtractionTool.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedTextTest {
+
+    @Test
+    void testRoundTrip() {
+        String text = "Table with 2 rows:\nWell Name/No.\tFlintlock F #14HB\t\nMD (ft)\t16635\t°\n".repeat(50);
+        byte[] compressed = CompressedText.compress(text);
+
+        assertTrue(compressed.length < text.length() / 4);
+        assertEquals(text, CompressedText.decompress(compressed));
+    }
+
+    @Test
+    void testNullAndEmpty() {
+        assertNull(CompressedText.compress(null));
+        assertNull(CompressedText.decompress(null));
+        assertEquals("", CompressedText.decompress(CompressedText.compress("")));
+    }
+}
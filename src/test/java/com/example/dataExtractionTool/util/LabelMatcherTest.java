@@ -0,0 +1,48 @@
+package com.example.dataExtractionTool.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabelMatcherTest {
+
+    @Test
+    void testMatchesEveryContainedPattern() {
+        LabelMatcher.Builder builder = LabelMatcher.builder();
+        int md = builder.add("MD (ft)", false);
+        int tvd = builder.add("TVD (ft)", false);
+        int ft = builder.add("(ft)", false);
+        LabelMatcher matcher = builder.build();
+
+        long mask = matcher.match("TVD (ft)");
+        assertTrue((mask & (1L << tvd)) != 0);
+        assertTrue((mask & (1L << ft)) != 0);
+        assertFalse((mask & (1L << md)) != 0);
+    }
+
+    @Test
+    void testCaseSensitivity() {
+        LabelMatcher.Builder builder = LabelMatcher.builder();
+        int wellName = builder.add("well name", true);
+        int rig = builder.add("Rig", false);
+        LabelMatcher matcher = builder.build();
+
+        assertEquals(1L << wellName, matcher.match("Well name/No."));
+        assertEquals(0L, matcher.match("RIG"));
+        assertEquals(1L << rig, matcher.match("Rig"));
+    }
+
+    @Test
+    void testOverlappingPatterns() {
+        LabelMatcher.Builder builder = LabelMatcher.builder();
+        int vol = builder.add("VOL", false);
+        int volTrack = builder.add("VOL. TRACK", false);
+        int track = builder.add("TRACK", false);
+        LabelMatcher matcher = builder.build();
+
+        long mask = matcher.match("VOL. TRACK(bbl)");
+        assertEquals((1L << vol) | (1L << volTrack) | (1L << track), mask);
+        assertEquals(1L << vol, matcher.match("VOL. TRAC"));
+        assertEquals(0L, matcher.match(null));
+        assertEquals(0L, matcher.match("Start vol."));
+    }
+}
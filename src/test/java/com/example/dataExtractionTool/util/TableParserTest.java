@@ -34,6 +34,40 @@ class TableParserTest {
         assertEquals("0.00", TableParser.extractNumericValue("0.00"));
     }
 
+    @Test
+    void testClassify() {
+        assertEquals(TableParser.ValueShape.EMPTY, TableParser.classify("  "));
+        assertEquals(TableParser.ValueShape.NUMBER, TableParser.classify("-122"));
+        assertEquals(TableParser.ValueShape.NUMBER, TableParser.classify(" 9.6 "));
+        assertEquals(TableParser.ValueShape.GROUPED_NUMBER, TableParser.classify("22,167"));
+        assertEquals(TableParser.ValueShape.SLASH_GROUP, TableParser.classify("170/170/170/170"));
+        assertEquals(TableParser.ValueShape.NUMBER_WITH_UNIT, TableParser.classify("9.6 ppg"));
+        assertEquals(TableParser.ValueShape.NUMBER_WITH_UNIT, TableParser.classify("12%"));
+        assertEquals(TableParser.ValueShape.TEXT, TableParser.classify("Flowline"));
+        assertEquals(TableParser.ValueShape.TEXT, TableParser.classify("1.2.3"));
+    }
+
+    @Test
+    void testParseNumberMatchesDouble() {
+        for (String value : List.of("0", "-0.0", "123.45", "-122", "+18", ".5", "5.", "1e1", "2.5E-3", "7d",
+                "0.1", "3.14159265358979", "12345678901234567890", "1e-30", "1e400", "NaN", "-Infinity")) {
+            assertEquals(Double.parseDouble(value), TableParser.parseNumber(value), value);
+        }
+        assertEquals(22167.0, TableParser.parseNumber("22,167"));
+        assertTrue(Double.isNaN(TableParser.parseNumber("9.6 ppg")));
+        assertTrue(Double.isNaN(TableParser.parseNumber("")));
+    }
+
+    @Test
+    void testIsNumericText() {
+        assertTrue(TableParser.isNumericText("1,250.5"));
+        assertTrue(TableParser.isNumericText("170/170"));
+        assertFalse(TableParser.isNumericText(""));
+        assertFalse(TableParser.isNumericText("9.6 ppg"));
+        assertTrue(TableParser.isNumericCell("$22,496"));
+        assertFalse(TableParser.isNumericCell("9.6 ppg"));
+    }
+
     @Test
     void testCleanText() {
         assertEquals("Hello World", TableParser.cleanText("  Hello   World  "));